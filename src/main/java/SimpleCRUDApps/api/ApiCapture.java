@@ -0,0 +1,146 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Allure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-thread ring buffer of recent request/response exchanges
+ * Filled by {@link CaptureFilter} in {@link ApiLogMode#ON_FAILURE} mode, written to stderr and Allure by
+ * {@link #dump(String)} when a test or validation fails, dropped by {@link #discard()} otherwise
+ * Ring size: -Dapi.capture.size (entries, default 16); entries larger than -Dapi.capture.maxChars are truncated
+ * Calls a test hands to other threads capture into the test's ring through {@link #propagate(Supplier)}
+ */
+public final class ApiCapture {
+    private static final int CAPACITY = Integer.getInteger("api.capture.size", 16);
+    private static final int MAX_ENTRY_CHARS = Integer.getInteger("api.capture.maxChars", 64 * 1024);
+
+    private static final ThreadLocal<ArrayDeque<String>> RING = ThreadLocal.withInitial(() -> new ArrayDeque<>(CAPACITY));
+
+    private static final LongAdder bytesCaptured = new LongAdder();
+    private static final LongAdder bytesLogged = new LongAdder();
+    private static final LongAdder bytesNotLogged = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (bytesCaptured.sum() > 0) {
+                System.out.println("📉 " + summary());
+            }
+        }, "api-capture-summary"));
+    }
+
+    private ApiCapture() {
+    }
+
+    static void capture(String exchange) {
+        String entry = exchange.length() > MAX_ENTRY_CHARS
+                ? exchange.substring(0, MAX_ENTRY_CHARS) + "\n... [truncated " + (exchange.length() - MAX_ENTRY_CHARS) + " chars]"
+                : exchange;
+        bytesCaptured.add(size(exchange));
+        if (entry.length() < exchange.length()) {
+            bytesNotLogged.add(size(exchange) - size(entry));
+        }
+        ArrayDeque<String> ring = RING.get();
+        synchronized (ring) {
+            if (ring.size() == CAPACITY) {
+                bytesNotLogged.add(size(ring.removeFirst()));
+            }
+            ring.addLast(entry);
+        }
+    }
+
+    /**
+     * Capture the exchanges of a call that will run on another thread into the current thread's ring
+     */
+    static <T> Supplier<T> propagate(Supplier<T> call) {
+        ArrayDeque<String> ring = RING.get();
+        return () -> {
+            ArrayDeque<String> previous = RING.get();
+            RING.set(ring);
+            try {
+                return call.get();
+            } finally {
+                RING.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Exchanges captured on this thread and not yet dumped or discarded
+     */
+    static int pending() {
+        ArrayDeque<String> ring = RING.get();
+        synchronized (ring) {
+            return ring.size();
+        }
+    }
+
+    /**
+     * Copy of this thread's captured exchanges, oldest first, left in place
+     */
+    static List<String> peek() {
+        ArrayDeque<String> ring = RING.get();
+        synchronized (ring) {
+            return new ArrayList<>(ring);
+        }
+    }
+
+    /**
+     * Write this thread's captured exchanges to stderr and as an Allure attachment, then clear them
+     */
+    public static void dump(String reason) {
+        ArrayDeque<String> ring = RING.get();
+        StringBuilder report;
+        synchronized (ring) {
+            if (ring.isEmpty()) return;
+            report = new StringBuilder("=== Last ").append(ring.size())
+                    .append(" API exchanges before: ").append(reason).append(" ===\n");
+            for (String entry : ring) {
+                report.append(entry).append('\n');
+                bytesLogged.add(size(entry));
+            }
+            ring.clear();
+        }
+        System.err.println(report);
+        Allure.addAttachment("API Exchanges - " + reason, "text/plain", report.toString());
+    }
+
+    /**
+     * Drop this thread's captured exchanges without logging them, e.g. after a passing test
+     */
+    public static void discard() {
+        ArrayDeque<String> ring = RING.get();
+        synchronized (ring) {
+            for (String entry : ring) {
+                bytesNotLogged.add(size(entry));
+            }
+            ring.clear();
+        }
+    }
+
+    public static long getBytesCaptured() {
+        return bytesCaptured.sum();
+    }
+
+    public static long getBytesLogged() {
+        return bytesLogged.sum();
+    }
+
+    public static long getBytesNotLogged() {
+        return bytesNotLogged.sum();
+    }
+
+    public static String summary() {
+        return String.format("API capture: %.1f KB captured, %.1f KB logged on failure, %.1f KB not logged",
+                getBytesCaptured() / 1024.0, getBytesLogged() / 1024.0, getBytesNotLogged() / 1024.0);
+    }
+
+    private static long size(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,382 @@
+package SimpleCRUDApps.api;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.client.DefaultHttpClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, thread-safe client configuration for one base URL of the product API
+ * Holds a request specification built once, a keep-alive connection pool sized to the test parallelism
+ * for the RestAssured path and the JDK HttpClient used by {@link AsyncService}
+ * Calls made through {@link #execute(Endpoint, Supplier)} share one {@link CircuitBreaker} and {@link RetryBudget}
+ * Use {@link #open(String, int)} for an owned instance (close it when done) or {@link #shared(String)}
+ * for the per-JVM instance tests use, closed by a shutdown hook
+ */
+public final class ApiClient implements AutoCloseable {
+
+    private static final Map<String, ApiClient> SHARED = new ConcurrentHashMap<>();
+    private static final int CONNECT_TIMEOUT_MS = Integer.getInteger("api.connectTimeoutMs", 10_000);
+    private static final int READ_TIMEOUT_MS = Integer.getInteger("api.readTimeoutMs", 30_000);
+    private static final int MAX_RETRIES = Integer.getInteger("api.retry.maxRetries", 2);
+    private static final long RETRY_BACKOFF_MS = 200;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ApiClient::closeShared, "api-client-shutdown"));
+    }
+
+    private final String baseUrl;
+    private final int maxConnections;
+    private final PooledConnectionManager connectionManager;
+    private final RequestSpecification spec;
+    private final HttpClient httpClient;
+    private final LongAdder requestsSent = new LongAdder();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.fromSystemProperties();
+    private final RetryBudget retryBudget = RetryBudget.fromSystemProperties();
+    private final ProductCache productCache = ProductCache.fromSystemProperties();
+    private final SingleFlight<String, Response> singleFlight = new SingleFlight<>();
+    private final ConditionalGetCache conditionalGetCache = new ConditionalGetCache();
+    private final RequestHedger hedger = RequestHedger.fromSystemProperties();
+    private final CreatedProductRegistry createdProducts = new CreatedProductRegistry();
+
+    private ApiClient(String baseUrl, int maxConnections) {
+        this.baseUrl = normalize(baseUrl);
+        this.maxConnections = maxConnections;
+        this.connectionManager = new PooledConnectionManager(maxConnections);
+
+        this.spec = new RequestSpecBuilder()
+                .setBaseUri(this.baseUrl)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .setConfig(config(CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS))
+                .addFilter(this::countRequest)
+                .addFilter(new MetricsFilter())
+                .addFilter(new CaptureFilter())
+                .addFilter(new CompressionFilter())
+                .build();
+
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT_MS))
+                .build();
+    }
+
+    // RestAssured's defaults never time out, which holds a worker until the JUnit timeout
+    @SuppressWarnings("deprecation")
+    private RestAssuredConfig config(int connectTimeoutMillis, int readTimeoutMillis) {
+        return RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(this::newHttpClient)
+                        .setParam("http.connection.timeout", connectTimeoutMillis)
+                        .setParam("http.socket.timeout", readTimeoutMillis))
+                // Accept-Encoding: gzip,deflate with transparent decoding (see HttpCompression for the JDK paths)
+                .decoderConfig(DecoderConfig.decoderConfig().contentDecoders(
+                        DecoderConfig.ContentDecoder.GZIP, DecoderConfig.ContentDecoder.DEFLATE))
+                // body(...) and as(...) use the generated model codecs, see JsonCodecs
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(CodecObjectMapper.INSTANCE));
+    }
+
+    // RestAssured adds its content decoders after this, so the wire counter sees the body still encoded
+    @SuppressWarnings("deprecation")
+    private DefaultHttpClient newHttpClient() {
+        DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+        httpClient.addResponseInterceptor(MetricsFilter.WIRE_COUNTER);
+        return httpClient;
+    }
+
+    /**
+     * Open a client owned by the caller
+     * @param parallelism number of threads expected to call concurrently, sizes the connection pool
+     */
+    public static ApiClient open(String baseUrl, int parallelism) {
+        return new ApiClient(baseUrl, Math.max(1, parallelism));
+    }
+
+    /**
+     * Per-JVM client for the given base URL, pool sized by -Dapi.pool.size (default 2 x CPU cores)
+     */
+    public static ApiClient shared(String baseUrl) {
+        return SHARED.computeIfAbsent(normalize(baseUrl), url -> open(url, defaultParallelism()));
+    }
+
+    /**
+     * Per-JVM client for {@link #defaultBaseUrl()}
+     */
+    public static ApiClient shared() {
+        return shared(defaultBaseUrl());
+    }
+
+    /**
+     * Every per-JVM client opened so far
+     */
+    public static Collection<ApiClient> sharedClients() {
+        return List.copyOf(SHARED.values());
+    }
+
+    /**
+     * -DbaseUrl when given, otherwise the production URL from dev.properties
+     */
+    public static String defaultBaseUrl() {
+        String fromProperty = System.getProperty("baseUrl");
+        return fromProperty != null ? fromProperty : productProperties.PROD;
+    }
+
+    static int defaultParallelism() {
+        return Integer.getInteger("api.pool.size", Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+    }
+
+    /**
+     * Fresh request specification on top of the pre-built one, global RestAssured filters still apply
+     * Inside a {@link Deadline} the connect/read timeouts are cut down to the remaining budget, and the connection
+     * is shut down once the budget runs out so a slow response cannot outlive it
+     */
+    public RequestSpecification given() {
+        RequestSpecification request = RestAssured.given().spec(spec);
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            request.config(config(deadline.timeoutMillis(CONNECT_TIMEOUT_MS), deadline.timeoutMillis(READ_TIMEOUT_MS)));
+        }
+        return request;
+    }
+
+    // Same pool and timeouts as given() but without metrics and capture, so warm-up traffic stays out of the reports
+    RequestSpecification unrecordedGiven() {
+        return RestAssured.given()
+                .baseUri(baseUrl)
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .config(config(CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS))
+                .filter(this::countRequest);
+    }
+
+    private Response countRequest(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                                  FilterContext ctx) {
+        requestsSent.increment();
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    /**
+     * Per-request timeout for the java.net.http paths: the read timeout, or less inside a {@link Deadline}
+     */
+    public Duration requestTimeout() {
+        Deadline deadline = Deadline.current();
+        return Duration.ofMillis(deadline == null ? READ_TIMEOUT_MS : deadline.timeoutMillis(READ_TIMEOUT_MS));
+    }
+
+    /**
+     * Run one RestAssured call through the circuit breaker
+     * Transport errors and 5xx responses count as failures; idempotent endpoints (everything but CREATE)
+     * are retried with backoff while the retry budget allows
+     * A 500 the request caused (malformed id, validation error) is returned as is, see {@link CircuitBreaker#isFailure}
+     * Inside a {@link Deadline} attempts and backoff stop when the budget runs out
+     * @throws BackendUnavailableException when the circuit is open
+     * @throws DeadlineExceededException when the current deadline expires before a response arrives
+     */
+    public Response execute(Endpoint endpoint, Supplier<Response> call) {
+        return execute(endpoint, call, Response::getStatusCode, Response::asString);
+    }
+
+    /**
+     * {@link #execute(Endpoint, Supplier)} for any response type, e.g. a body streamed from the JDK HttpClient
+     * @param errorBody body of a 5xx response, read to tell request-caused 500s apart; a retried response is dropped
+     */
+    <T> T execute(Endpoint endpoint, Supplier<T> call, ToIntFunction<T> status, Function<T, String> errorBody) {
+        boolean idempotent = endpoint != Endpoint.CREATE;
+        Deadline deadline = Deadline.current();
+        retryBudget.onRequest();
+        for (int attempt = 0; ; attempt++) {
+            if (deadline != null) {
+                deadline.check(endpoint.label());
+            }
+            circuitBreaker.acquirePermission();
+            boolean mayRetry = idempotent && attempt < MAX_RETRIES;
+            T response;
+            try {
+                response = call.get();
+            } catch (Exception e) {
+                // RestAssured rethrows IOExceptions undeclared, so catch everything here
+                if (deadline != null && deadline.isExpired()) {
+                    // the caller's budget ran out, that says nothing about the backend
+                    circuitBreaker.release();
+                    throw deadline.exceeded(endpoint.label(), e);
+                }
+                circuitBreaker.onFailure(endpoint.label() + " -> " + e);
+                if (mayRetry && retryBudget.tryAcquireRetry()) {
+                    backoff(attempt, deadline);
+                    continue;
+                }
+                throw e;
+            }
+            int code = status.applyAsInt(response);
+            if (CircuitBreaker.isFailure(code, code >= 500 ? errorBody.apply(response) : null)) {
+                circuitBreaker.onFailure(endpoint.label() + " -> HTTP " + code);
+                if (mayRetry && retryBudget.tryAcquireRetry()) {
+                    backoff(attempt, deadline);
+                    continue;
+                }
+                return response;
+            }
+            circuitBreaker.onSuccess();
+            return response;
+        }
+    }
+
+    private static void backoff(int attempt, Deadline deadline) {
+        long pause = RETRY_BACKOFF_MS << attempt;
+        if (deadline != null) {
+            pause = Math.min(pause, Math.max(0, deadline.remainingMillis()));
+        }
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off before a retry", e);
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Opt-in product cache shared by every Service/AsyncService on this client
+     */
+    public ProductCache getProductCache() {
+        return productCache;
+    }
+
+    /**
+     * After a create/update/delete through this client: drops the product's cache entry and keeps later GETs
+     * from joining a call that started before the write
+     * @param productId null for a create
+     */
+    void onWrite(String productId) {
+        if (productId != null) {
+            productCache.invalidate(productId);
+        }
+        singleFlight.forgetAll();
+    }
+
+    /**
+     * Identical list GETs in flight on this client, keyed by path and query (-Dapi.singleFlight=true)
+     */
+    public SingleFlight<String, Response> getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * ETag / Last-Modified validators and last responses for conditional GETs on this client
+     */
+    public ConditionalGetCache getConditionalGetCache() {
+        return conditionalGetCache;
+    }
+
+    /**
+     * Hedging for idempotent GETs on this client, used by Service when -Dapi.hedge=true
+     */
+    public RequestHedger getHedger() {
+        return hedger;
+    }
+
+    /**
+     * Products created through this client and not deleted yet, swept at the end of the run
+     */
+    public CreatedProductRegistry getCreatedProducts() {
+        return createdProducts;
+    }
+
+    public RequestSpecification spec() {
+        return spec;
+    }
+
+    public HttpClient httpClient() {
+        return httpClient;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getRequestsSent() {
+        return requestsSent.sum();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionManager.getConnectionsOpened();
+    }
+
+    // Deadline watchdogs of connections still leased
+    int pendingDeadlineWatchdogs() {
+        return connectionManager.pendingWatchdogs();
+    }
+
+    public long getConnectionsReused() {
+        return Math.max(0, getRequestsSent() - getConnectionsOpened());
+    }
+
+    public String connectionSummary() {
+        return String.format("%s: %d requests, %d connections opened, %d reused (pool size %d)",
+                baseUrl, getRequestsSent(), getConnectionsOpened(), getConnectionsReused(), maxConnections);
+    }
+
+    @Override
+    public void close() {
+        SHARED.remove(baseUrl, this);
+        hedger.close();
+        connectionManager.close();
+    }
+
+    private static void closeShared() {
+        for (ApiClient client : SHARED.values()) {
+            if (client.getRequestsSent() > 0) {
+                System.out.println("🔌 " + client.connectionSummary());
+            }
+            if (client.singleFlight.getCollapsed() > 0) {
+                System.out.println("🤝 " + client.baseUrl + ": " + client.singleFlight.getCollapsed()
+                        + " GET calls shared an identical in-flight request");
+            }
+            if (client.conditionalGetCache.getNotModified() > 0) {
+                System.out.println("♻️ " + client.conditionalGetCache.stats());
+            }
+            if (client.hedger.getRequests() > 0) {
+                System.out.println("🏁 " + client.hedger.stats());
+            }
+            if (client.productCache.getHits() + client.productCache.getMisses() > 0) {
+                System.out.println("🗃️ " + client.productCache.stats());
+            }
+            client.close();
+        }
+    }
+
+    private static String normalize(String baseUrl) {
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+}
@@ -0,0 +1,26 @@
+package SimpleCRUDApps.api;
+
+/**
+ * How API traffic is logged, selected with -Dapi.log=all|failure (default failure)
+ * ALL pretty-prints every response to stdout (the historical behaviour)
+ * ON_FAILURE keeps the last exchanges per thread in {@link ApiCapture} and only writes them out when a
+ * test or validation fails
+ */
+public enum ApiLogMode {
+    ALL,
+    ON_FAILURE;
+
+    private static volatile ApiLogMode current = fromProperty(System.getProperty("api.log", "failure"));
+
+    public static ApiLogMode current() {
+        return current;
+    }
+
+    public static void set(ApiLogMode mode) {
+        current = mode;
+    }
+
+    static ApiLogMode fromProperty(String value) {
+        return "all".equalsIgnoreCase(value) || "verbose".equalsIgnoreCase(value) ? ALL : ON_FAILURE;
+    }
+}
@@ -0,0 +1,259 @@
+package SimpleCRUDApps.api;
+
+import utils.LatencyHistogram;
+import utils.LatencyRecorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Client-side metrics per endpoint: latency, status codes and payload sizes
+ * Latencies go into per-thread histograms (see {@link LatencyRecorder}) and counters are LongAdders, so
+ * recording never takes a lock; snapshots merge everything when a test or the run ends
+ * One instance covers the whole run ({@link #global()}), and one is scoped to each test thread between
+ * {@link #beginTest()} and {@link #endTest()}; calls completing on another thread record into the scope
+ * captured when they were sent ({@link #currentTest()}, {@link #propagate(Supplier)})
+ */
+public class ApiMetrics {
+
+    private static final ApiMetrics GLOBAL = new ApiMetrics();
+    private static final ThreadLocal<ApiMetrics> TEST_SCOPE = new ThreadLocal<>();
+
+    private final Map<Endpoint, EndpointStats> endpoints = new EnumMap<>(Endpoint.class);
+
+    public ApiMetrics() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            endpoints.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static ApiMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Start collecting a separate copy of this thread's calls for the current test
+     */
+    public static void beginTest() {
+        TEST_SCOPE.set(new ApiMetrics());
+    }
+
+    /**
+     * @return the metrics recorded on this thread since {@link #beginTest()}, or null if none was started
+     */
+    public static ApiMetrics endTest() {
+        ApiMetrics scope = TEST_SCOPE.get();
+        TEST_SCOPE.remove();
+        return scope;
+    }
+
+    /**
+     * @return the current thread's test scope, or null outside a test
+     */
+    public static ApiMetrics currentTest() {
+        return TEST_SCOPE.get();
+    }
+
+    /**
+     * Carry the current test scope (if any) into a call that will run on another thread
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> call) {
+        ApiMetrics scope = TEST_SCOPE.get();
+        if (scope == null) {
+            return call;
+        }
+        return () -> {
+            ApiMetrics previous = TEST_SCOPE.get();
+            TEST_SCOPE.set(scope);
+            try {
+                return call.get();
+            } finally {
+                if (previous == null) {
+                    TEST_SCOPE.remove();
+                } else {
+                    TEST_SCOPE.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Record one completed call, statusCode 0 means no HTTP response (connection error)
+     */
+    public static void recordCall(Endpoint endpoint, long latencyMicros, int statusCode, long requestBytes, long responseBytes) {
+        recordCall(endpoint, latencyMicros, statusCode, requestBytes, requestBytes, responseBytes, responseBytes);
+    }
+
+    /**
+     * Record one completed call whose bodies may have been compressed on the wire
+     * requestBytes/responseBytes are the JSON sizes, the wire sizes are what was actually transferred
+     */
+    public static void recordCall(Endpoint endpoint, long latencyMicros, int statusCode, long requestBytes, long requestWireBytes,
+                                  long responseBytes, long responseWireBytes) {
+        recordCall(TEST_SCOPE.get(), endpoint, latencyMicros, statusCode, requestBytes, requestWireBytes, responseBytes, responseWireBytes);
+    }
+
+    /**
+     * Record a call that completed on another thread than the one that sent it
+     * @param scope test scope captured with {@link #currentTest()} when the call was sent, may be null
+     */
+    public static void recordCall(ApiMetrics scope, Endpoint endpoint, long latencyMicros, int statusCode, long requestBytes,
+                                  long requestWireBytes, long responseBytes, long responseWireBytes) {
+        if (endpoint == null) return;
+        GLOBAL.record(endpoint, latencyMicros, statusCode, requestBytes, requestWireBytes, responseBytes, responseWireBytes);
+        if (scope != null) {
+            scope.record(endpoint, latencyMicros, statusCode, requestBytes, requestWireBytes, responseBytes, responseWireBytes);
+        }
+    }
+
+    /**
+     * Record a call that joined an identical one already in flight instead of going to the network
+     */
+    public static void recordCollapsed(Endpoint endpoint) {
+        GLOBAL.endpoints.get(endpoint).collapsed.increment();
+        ApiMetrics scope = TEST_SCOPE.get();
+        if (scope != null) {
+            scope.endpoints.get(endpoint).collapsed.increment();
+        }
+    }
+
+    public void record(Endpoint endpoint, long latencyMicros, int statusCode, long requestBytes, long responseBytes) {
+        record(endpoint, latencyMicros, statusCode, requestBytes, requestBytes, responseBytes, responseBytes);
+    }
+
+    public void record(Endpoint endpoint, long latencyMicros, int statusCode, long requestBytes, long requestWireBytes,
+                       long responseBytes, long responseWireBytes) {
+        EndpointStats stats = endpoints.get(endpoint);
+        stats.latency.record(latencyMicros);
+        stats.statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        stats.requestBytes.add(requestBytes);
+        stats.requestWireBytes.add(requestWireBytes);
+        stats.responseBytes.add(responseBytes);
+        stats.responseWireBytes.add(responseWireBytes);
+    }
+
+    public LatencyHistogram latency(Endpoint endpoint) {
+        return endpoints.get(endpoint).latency.snapshot();
+    }
+
+    public long collapsed(Endpoint endpoint) {
+        return endpoints.get(endpoint).collapsed.sum();
+    }
+
+    public long responseBytes(Endpoint endpoint) {
+        return endpoints.get(endpoint).responseBytes.sum();
+    }
+
+    public long responseWireBytes(Endpoint endpoint) {
+        return endpoints.get(endpoint).responseWireBytes.sum();
+    }
+
+    /**
+     * Calls per status code, 0 for calls that failed without a response
+     */
+    public Map<Integer, Long> statusCodes(Endpoint endpoint) {
+        return endpoints.get(endpoint).statusCounts();
+    }
+
+    public long getCalls() {
+        long calls = 0;
+        for (EndpointStats stats : endpoints.values()) {
+            calls += stats.calls();
+        }
+        return calls;
+    }
+
+    /**
+     * Plain-text table for console output and Allure attachments, latencies in milliseconds
+     */
+    public String toTable() {
+        StringBuilder sb = new StringBuilder(String.format("%-32s %6s %9s %9s %9s %9s %9s %10s %10s %10s %10s  %s%n",
+                "Endpoint", "Calls", "Shared", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                "Sent B", "Sent wire", "Recv B", "Recv wire", "Status codes"));
+        for (Map.Entry<Endpoint, EndpointStats> entry : endpoints.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            if (stats.calls() == 0) continue;
+            LatencyHistogram h = stats.latency.snapshot();
+            sb.append(String.format("%-32s %6d %9d %9.1f %9.1f %9.1f %9.1f %10d %10d %10d %10d  %s%n",
+                    entry.getKey().label(), h.getTotalCount(), stats.collapsed.sum(),
+                    h.valueAtPercentile(50) / 1000.0, h.valueAtPercentile(90) / 1000.0,
+                    h.valueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0,
+                    stats.requestBytes.sum(), stats.requestWireBytes.sum(),
+                    stats.responseBytes.sum(), stats.responseWireBytes.sum(), stats.statusCounts()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * JSON-friendly summary keyed by endpoint label
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, EndpointStats> entry : endpoints.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            if (stats.calls() == 0) continue;
+            LatencyHistogram h = stats.latency.snapshot();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("calls", h.getTotalCount());
+            values.put("collapsedCalls", stats.collapsed.sum());
+            values.put("meanMs", h.getMean() / 1000.0);
+            values.put("p50Ms", h.valueAtPercentile(50) / 1000.0);
+            values.put("p90Ms", h.valueAtPercentile(90) / 1000.0);
+            values.put("p99Ms", h.valueAtPercentile(99) / 1000.0);
+            values.put("p999Ms", h.valueAtPercentile(99.9) / 1000.0);
+            values.put("maxMs", h.getMaxValue() / 1000.0);
+            values.put("totalMs", h.getMean() * h.getTotalCount() / 1000.0);
+            values.put("requestBytes", stats.requestBytes.sum());
+            values.put("requestWireBytes", stats.requestWireBytes.sum());
+            values.put("responseBytes", stats.responseBytes.sum());
+            values.put("responseWireBytes", stats.responseWireBytes.sum());
+            values.put("statusCodes", stats.statusCounts());
+            summary.put(entry.getKey().label(), values);
+        }
+        return summary;
+    }
+
+    public void writeJson(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toSummary());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write API metrics to " + file, e);
+        }
+    }
+
+    private static class EndpointStats {
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder requestWireBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder responseWireBytes = new LongAdder();
+        private final LongAdder collapsed = new LongAdder();
+
+        long calls() {
+            long calls = 0;
+            for (LongAdder count : statusCodes.values()) {
+                calls += count.sum();
+            }
+            return calls;
+        }
+
+        Map<Integer, Long> statusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statusCodes.forEach((code, count) -> counts.put(code, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package SimpleCRUDApps.api;
+
+import lombok.Getter;
+
+/**
+ * Raised when the product API answers with a non-2xx status code, or with the backend's 200 "Product not found"
+ * where a product was expected to exist
+ */
+@Getter
+public class ApiResponseException extends RuntimeException {
+    public static final String NOT_FOUND_MESSAGE = "Product not found";
+
+    private final int statusCode;
+    private final String body;
+
+    public ApiResponseException(String method, String path, int statusCode, String body) {
+        super(method + " " + path + " failed with status " + statusCode + ": " + body);
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    /**
+     * True for a 404 and for the backend's 200 + "Product not found" answer
+     */
+    public boolean isNotFound() {
+        return statusCode == 404 || body != null && body.contains(NOT_FOUND_MESSAGE);
+    }
+}
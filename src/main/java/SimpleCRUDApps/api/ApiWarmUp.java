@@ -0,0 +1,147 @@
+package SimpleCRUDApps.api;
+
+import io.restassured.response.Response;
+import utils.LatencyHistogram;
+import utils.VirtualThreads;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Once-per-JVM warm-up of a base URL before the tests start: pays DNS, TCP/TLS and serverless cold start up front,
+ * opens pooled keep-alive connections and measures cold versus warm latency of a cheap GET
+ * Warm-up requests are not recorded in {@link ApiMetrics}, so the run's numbers reflect steady state only
+ * -Dapi.warmup.requests (5, 0 disables) sequential warm requests, -Dapi.warmup.connections (4) connections pre-opened
+ */
+public final class ApiWarmUp {
+
+    // Valid ObjectId that never exists: the backend answers 200 "Product not found" without touching the list
+    private static final String PROBE_PATH = baseEndPoint.productService + "/000000000000000000000000";
+    private static final int REQUESTS = Integer.getInteger("api.warmup.requests", 5);
+    private static final int CONNECTIONS = Integer.getInteger("api.warmup.connections", 4);
+
+    private static final Map<String, Report> DONE = new ConcurrentHashMap<>();
+
+    private ApiWarmUp() {
+    }
+
+    /**
+     * Cold versus warm latency in microseconds for one base URL
+     */
+    public record Report(String baseUrl, long coldMicros, long httpClientColdMicros, LatencyHistogram warm,
+                         long connectionsOpened, String failure) {
+
+        public boolean succeeded() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            if (!succeeded()) {
+                return String.format("Warm-up %s failed: %s", baseUrl, failure);
+            }
+            double warmMs = warm.valueAtPercentile(50) / 1000.0;
+            return String.format("Warm-up %s: cold %.1f ms (HttpClient %.1f ms), warm p50 %.1f ms / max %.1f ms over %d calls,"
+                            + " start-up cost %.1f ms, %d connections open",
+                    baseUrl, coldMicros / 1000.0, httpClientColdMicros / 1000.0, warmMs, warm.getMaxValue() / 1000.0,
+                    warm.getTotalCount(), coldMicros / 1000.0 - warmMs, connectionsOpened);
+        }
+    }
+
+    /**
+     * Warm the client's base URL unless this JVM already did; concurrent callers wait for the first one
+     * Never throws: a backend that cannot be reached is reported here and left to the tests to fail on
+     * @return the warm-up report, or null when disabled
+     */
+    public static Report ensureWarm(ApiClient client) {
+        if (REQUESTS <= 0) return null;
+        return DONE.computeIfAbsent(client.getBaseUrl(), url -> {
+            Report report = warmUp(client);
+            System.out.println("🔥 " + report);
+            return report;
+        });
+    }
+
+    public static Map<String, Report> reports() {
+        return Map.copyOf(DONE);
+    }
+
+    private static Report warmUp(ApiClient client) {
+        try {
+            long coldMicros = probe(client);
+            long httpClientColdMicros = probeHttpClient(client);
+            preOpenConnections(client, Math.min(CONNECTIONS, client.getMaxConnections()));
+            LatencyHistogram warm = new LatencyHistogram();
+            for (int i = 0; i < REQUESTS; i++) {
+                warm.record(probe(client));
+            }
+            return new Report(client.getBaseUrl(), coldMicros, httpClientColdMicros, warm, client.getConnectionsOpened(), null);
+        } catch (Exception | AssertionError e) {
+            // RestAssured rethrows IOExceptions undeclared
+            return new Report(client.getBaseUrl(), 0, 0, new LatencyHistogram(), client.getConnectionsOpened(), e.toString());
+        }
+    }
+
+    private static long probe(ApiClient client) {
+        long start = System.nanoTime();
+        Response response = client.unrecordedGiven().get(PROBE_PATH);
+        // reading the body is what hands the connection back to the pool
+        response.asByteArray();
+        int status = response.getStatusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Warm-up probe " + PROBE_PATH + " answered HTTP " + status);
+        }
+        return (System.nanoTime() - start) / 1000;
+    }
+
+    private static long probeHttpClient(ApiClient client) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(client.getBaseUrl() + PROBE_PATH))
+                .timeout(client.requestTimeout())
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            client.httpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            throw new IllegalStateException("HttpClient warm-up request failed", e);
+        }
+        return (System.nanoTime() - start) / 1000;
+    }
+
+    // Overlapping requests force the pool to open one connection each, which then stay alive for the tests
+    private static void preOpenConnections(ApiClient client, int connections) {
+        ThreadFactory threadFactory = VirtualThreads.factory("api-warmup-");
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Thread thread = threadFactory.newThread(() -> {
+                try {
+                    go.await();
+                    probe(client);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception | AssertionError ignored) {
+                    // reported by the sequential probes
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        go.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
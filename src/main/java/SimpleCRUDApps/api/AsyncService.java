@@ -0,0 +1,195 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.model.ProductResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking sibling of {@link Service}
+ * Same five endpoints, backed by the {@link ApiClient}'s pooled java.net.http.HttpClient and returning CompletableFutures
+ * of the existing models so tests can migrate call by call
+ * Responses are negotiated gzip/deflate and decoded as a stream by the generated model codecs (see {@link HttpCompression},
+ * {@link JsonCodecs})
+ */
+public class AsyncService {
+
+    private static final String API_PATH = baseEndPoint.productService;
+
+    private final ApiClient client;
+
+    /**
+     * Uses the shared client for -DbaseUrl (or the production URL), same as {@link Service}
+     */
+    public AsyncService() {
+        this(ApiClient.shared());
+    }
+
+    public AsyncService(String baseUrl) {
+        this(ApiClient.shared(baseUrl));
+    }
+
+    public AsyncService(ApiClient client) {
+        this.client = client;
+    }
+
+    public CompletableFuture<ProductResponse> createProduct(ProductRequest product) {
+        return createProduct(ProductPayload.oneShot(product));
+    }
+
+    public CompletableFuture<ProductResponse> createProduct(ProductPayload product) {
+        return send("POST", API_PATH, product, ProductResponse.class)
+                .whenComplete((response, error) -> client.onWrite(null))
+                .thenApply(created -> {
+                    client.getCreatedProducts().onCreated(created.getProductId());
+                    return created;
+                });
+    }
+
+    public CompletableFuture<List<Product>> getAllProducts() {
+        HttpRequest request = newRequest(API_PATH).GET().build();
+        return timed(Endpoint.LIST, request, 0, 0)
+                .thenApply(response -> readList("GET", API_PATH, response));
+    }
+
+    public CompletableFuture<ProductResponse> getProductById(String productId) {
+        return send("GET", API_PATH + "/" + productId, null, ProductResponse.class);
+    }
+
+    public CompletableFuture<ProductResponse> getProductById(ProductId productId) {
+        return getProductById(productId.toHexString());
+    }
+
+    public CompletableFuture<ProductResponse> updateProduct(ProductId productId, ProductRequest product) {
+        return updateProduct(productId.toHexString(), product);
+    }
+
+    public CompletableFuture<ProductResponse> updateProduct(ProductId productId, ProductPayload product) {
+        return updateProduct(productId.toHexString(), product);
+    }
+
+    public CompletableFuture<ProductResponse> deleteProduct(ProductId productId) {
+        return deleteProduct(productId.toHexString());
+    }
+
+    public CompletableFuture<ProductResponse> updateProduct(String productId, ProductRequest product) {
+        return updateProduct(productId, ProductPayload.oneShot(product));
+    }
+
+    public CompletableFuture<ProductResponse> updateProduct(String productId, ProductPayload product) {
+        return send("PUT", API_PATH + "/" + productId, product, ProductResponse.class)
+                .whenComplete((response, error) -> client.onWrite(productId));
+    }
+
+    public CompletableFuture<ProductResponse> deleteProduct(String productId) {
+        return send("DELETE", API_PATH + "/" + productId, null, ProductResponse.class)
+                .whenComplete((response, error) -> {
+                    client.onWrite(productId);
+                    if (error == null) {
+                        client.getCreatedProducts().onDeleted(productId);
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<T> send(String method, String path, ProductPayload body, Class<T> type) {
+        byte[] json = body == null ? null : body.toBody();
+        byte[] wire = json != null && HttpCompression.COMPRESS_REQUESTS ? HttpCompression.gzip(json) : json;
+        HttpRequest.Builder builder = newRequest(path)
+                .method(method, wire == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(wire));
+        if (wire != json) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        return timed(Endpoint.resolve(method, path), builder.build(), json == null ? 0 : json.length, wire == null ? 0 : wire.length)
+                .thenApply(response -> read(method, path, response, type));
+    }
+
+    // Goes through the client's circuit breaker, then records latency, status and payload sizes in ApiMetrics
+    // The caller's Deadline and test metrics scope (if any) are captured here, the response completes on an HttpClient thread;
+    // an expired budget fails with DeadlineExceededException
+    private CompletableFuture<HttpResponse<byte[]>> timed(Endpoint endpoint, HttpRequest request, long requestBytes,
+                                                          long requestWireBytes) {
+        CircuitBreaker breaker = client.getCircuitBreaker();
+        Deadline deadline = Deadline.current();
+        ApiMetrics testMetrics = ApiMetrics.currentTest();
+        try {
+            if (deadline != null) {
+                deadline.check(endpoint.label());
+            }
+            breaker.acquirePermission();
+        } catch (BackendUnavailableException | DeadlineExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> future = client.httpClient().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    if (error != null && deadline != null && deadline.isExpired()) {
+                        breaker.release();
+                    } else if (error != null || response.statusCode() >= 500 && CircuitBreaker.isFailure(response.statusCode(),
+                            HttpCompression.decodeToString(contentEncoding(response), response.body()))) {
+                        breaker.onFailure(endpoint.label() + " -> " + (error != null ? error : "HTTP " + response.statusCode()));
+                    } else {
+                        breaker.onSuccess();
+                    }
+                    ApiMetrics.recordCall(testMetrics, endpoint, (System.nanoTime() - start) / 1000,
+                            response == null ? 0 : response.statusCode(), requestBytes, requestWireBytes,
+                            response == null ? 0 : HttpCompression.decodedLength(contentEncoding(response), response.body()),
+                            response == null ? 0 : response.body().length);
+                });
+        if (deadline == null) {
+            return future;
+        }
+        return future.exceptionallyCompose(error -> CompletableFuture.failedFuture(deadline.isExpired()
+                ? deadline.exceeded(endpoint.label(), error instanceof CompletionException ? error.getCause() : error)
+                : error));
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(client.getBaseUrl() + path))
+                .timeout(client.requestTimeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING);
+    }
+
+    private static <T> T read(String method, String path, HttpResponse<byte[]> response, Class<T> type) {
+        ensureSuccess(method, path, response);
+        try {
+            return JsonCodecs.read(HttpCompression.decode(contentEncoding(response), response.body()), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse " + method + " " + path + " response", e);
+        }
+    }
+
+    private static List<Product> readList(String method, String path, HttpResponse<byte[]> response) {
+        ensureSuccess(method, path, response);
+        try {
+            return JsonCodecs.readList(HttpCompression.decode(contentEncoding(response), response.body()), Product.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse " + method + " " + path + " response", e);
+        }
+    }
+
+    private static void ensureSuccess(String method, String path, HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new ApiResponseException(method, path, status,
+                    HttpCompression.decodeToString(contentEncoding(response), response.body()));
+        }
+    }
+
+    private static String contentEncoding(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Encoding").orElse(null);
+    }
+}
@@ -0,0 +1,10 @@
+package SimpleCRUDApps.api;
+
+/**
+ * Thrown without touching the network while the {@link CircuitBreaker} is open
+ */
+public class BackendUnavailableException extends RuntimeException {
+    public BackendUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,89 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.model.ProductResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Bulk create/delete for fixture setup and teardown
+ * Requests are pipelined over {@link AsyncService} with at most maxInFlight outstanding; the submitting
+ * thread blocks once the limit is reached (backpressure), and every item gets its own result
+ * A delete answered with "Product not found" fails its item, whatever the status code
+ * Default limit: -Dapi.bulk.maxInFlight (32)
+ */
+public class BulkProductService {
+
+    private final AsyncService service;
+    private final int maxInFlight;
+
+    public BulkProductService() {
+        this(new AsyncService(), Integer.getInteger("api.bulk.maxInFlight", 32));
+    }
+
+    public BulkProductService(AsyncService service, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be >= 1");
+        }
+        this.service = service;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public BulkResult<ProductRequest, ProductResponse> createProducts(List<ProductRequest> requests) {
+        return run("createProducts", requests, service::createProduct);
+    }
+
+    public BulkResult<String, ProductResponse> deleteProducts(Collection<String> productIds) {
+        return run("deleteProducts", productIds, id -> service.deleteProduct(id).thenApply(response -> {
+            if (ApiResponseException.NOT_FOUND_MESSAGE.equals(response.getMessage())) {
+                throw new ApiResponseException("DELETE", baseEndPoint.productService + "/" + id, 200, response.getMessage());
+            }
+            return response;
+        }));
+    }
+
+    private <I> BulkResult<I, ProductResponse> run(String operation, Collection<I> inputs,
+                                                   Function<I, CompletableFuture<ProductResponse>> call) {
+        Semaphore permits = new Semaphore(maxInFlight);
+        List<I> ordered = new ArrayList<>(inputs);
+        List<CompletableFuture<BulkResult.Item<I, ProductResponse>>> pending = new ArrayList<>(ordered.size());
+
+        for (int i = 0; i < ordered.size(); i++) {
+            final int index = i;
+            final I input = ordered.get(i);
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.add(CompletableFuture.completedFuture(new BulkResult.Item<>(index, input, null, e)));
+                continue;
+            }
+            CompletableFuture<ProductResponse> future;
+            try {
+                future = call.apply(input);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            pending.add(future.handle((response, error) -> {
+                permits.release();
+                return new BulkResult.Item<>(index, input, error == null ? response : null, unwrap(error));
+            }));
+        }
+
+        List<BulkResult.Item<I, ProductResponse>> items = new ArrayList<>(pending.size());
+        for (CompletableFuture<BulkResult.Item<I, ProductResponse>> future : pending) {
+            items.add(future.join());
+        }
+        return new BulkResult<>(operation, items);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,87 @@
+package SimpleCRUDApps.api;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item outcome of a bulk operation, in input order
+ * @param <I> input of each item (request payload or product ID)
+ * @param <R> response of each successful item
+ */
+public class BulkResult<I, R> {
+
+    public record Item<I, R>(int index, I input, R response, Throwable error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    private final String operation;
+    private final List<Item<I, R>> items;
+
+    BulkResult(String operation, List<Item<I, R>> items) {
+        this.operation = operation;
+        this.items = List.copyOf(items);
+    }
+
+    public List<Item<I, R>> getItems() {
+        return items;
+    }
+
+    public List<R> getResponses() {
+        return items.stream().filter(Item::succeeded).map(Item::response).collect(Collectors.toList());
+    }
+
+    public List<Item<I, R>> getFailures() {
+        return items.stream().filter(item -> !item.succeeded()).collect(Collectors.toList());
+    }
+
+    public int getSuccessCount() {
+        return items.size() - getFailureCount();
+    }
+
+    public int getFailureCount() {
+        return (int) items.stream().filter(item -> !item.succeeded()).count();
+    }
+
+    public boolean isCompleteSuccess() {
+        return getFailureCount() == 0;
+    }
+
+    /**
+     * Partial-failure report: totals plus one line per failed item
+     */
+    public String failureReport() {
+        StringBuilder report = new StringBuilder(String.format("%s: %d/%d succeeded, %d failed",
+                operation, getSuccessCount(), items.size(), getFailureCount()));
+        for (Item<I, R> item : getFailures()) {
+            report.append("\n  #").append(item.index()).append(' ').append(item.input())
+                    .append(" -> ").append(Objects.toString(rootCause(item.error()).getMessage()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Fail with the partial-failure report if any item failed
+     */
+    public BulkResult<I, R> throwIfAnyFailed() {
+        if (!isCompleteSuccess()) {
+            throw new IllegalStateException(failureReport());
+        }
+        return this;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return failureReport();
+    }
+}
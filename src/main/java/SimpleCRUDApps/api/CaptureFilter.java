@@ -0,0 +1,49 @@
+package SimpleCRUDApps.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records each request/response into the calling thread's {@link ApiCapture} ring instead of printing it
+ * The request is recorded as the test built it: byte[] bodies decoded as UTF-8, before any compression
+ * Does nothing in {@link ApiLogMode#ALL}, where responses are pretty-printed as before
+ */
+public class CaptureFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (ApiLogMode.current() != ApiLogMode.ON_FAILURE) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        // Read before ctx.next: CompressionFilter further down the chain replaces the body with gzip bytes
+        StringBuilder exchange = new StringBuilder(512);
+        exchange.append(">>> ").append(requestSpec.getMethod()).append(' ').append(requestSpec.getURI()).append('\n');
+        for (Header header : requestSpec.getHeaders()) {
+            exchange.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            exchange.append(body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body).append('\n');
+        }
+
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        exchange.append("<<< ").append(response.getStatusLine()).append(" (").append(elapsedMs).append(" ms)\n");
+        for (Header header : response.getHeaders()) {
+            exchange.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+        }
+        exchange.append(response.asString()).append('\n');
+        ApiCapture.capture(exchange.toString());
+        return response;
+    }
+}
@@ -0,0 +1,175 @@
+package SimpleCRUDApps.api;
+
+import java.util.List;
+
+/**
+ * Count-based circuit breaker shared by all calls to one base URL
+ * Opens when the failure rate over the last windowSize calls reaches the threshold (after minimumCalls),
+ * rejects calls with {@link BackendUnavailableException} while open, then lets a single probe through
+ * (half-open) once openDuration has passed; the probe's outcome closes or re-opens the circuit
+ * Failures are transport errors and 5xx responses, except the 500s the request itself causes (see {@link #isFailure})
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Mongoose errors the backend answers with 500 for a malformed id or an invalid body
+    private static final List<String> REQUEST_ERRORS = List.of("Cast to ObjectId failed", "validation failed");
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+
+    private final boolean[] window;
+    private int index;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+    private String lastFailure = "";
+    private long rejected;
+
+    /**
+     * @param failureRateThreshold 0..1, e.g. 0.5 opens at 50% failures
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * Configured by -Dapi.breaker.window (20), .minCalls (10), .failureRate (50 percent) and .openMs (15000)
+     */
+    public static CircuitBreaker fromSystemProperties() {
+        return new CircuitBreaker(
+                Integer.getInteger("api.breaker.window", 20),
+                Integer.getInteger("api.breaker.minCalls", 10),
+                Integer.getInteger("api.breaker.failureRate", 50) / 100.0,
+                Long.getLong("api.breaker.openMs", 15_000L));
+    }
+
+    /**
+     * Whether a response says the backend is failing: any 5xx except the deterministic 500s caused by the request
+     * (cast and validation errors), which would fail the same way on every retry
+     */
+    public static boolean isFailure(int statusCode, String body) {
+        if (statusCode < 500) {
+            return false;
+        }
+        if (statusCode == 500 && body != null) {
+            for (String requestError : REQUEST_ERRORS) {
+                if (body.contains(requestError)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws BackendUnavailableException when the circuit is open, or half-open with the probe already out
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                throw unavailable();
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw unavailable();
+            }
+            probeInFlight = true;
+        }
+    }
+
+    /**
+     * Fail fast if the circuit is open, without consuming the half-open probe
+     */
+    public synchronized void ensureAvailable() {
+        if (state == State.OPEN && System.nanoTime() - openedAt < openNanos) {
+            throw unavailable();
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            resetWindow();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(String reason) {
+        lastFailure = reason;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls && failureRate() >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * End a call without an outcome (e.g. the caller gave up), freeing the half-open probe slot
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getRejectedCalls() {
+        return rejected;
+    }
+
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0 : (double) failures / recorded;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == windowSize && window[index]) {
+            failures--;
+        }
+        window[index] = failed;
+        if (failed) failures++;
+        index = (index + 1) % windowSize;
+        recorded = Math.min(recorded + 1, windowSize);
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        probeInFlight = false;
+        System.err.println("⛔ Circuit opened: " + describe());
+    }
+
+    private void resetWindow() {
+        java.util.Arrays.fill(window, false);
+        index = 0;
+        recorded = 0;
+        failures = 0;
+    }
+
+    private BackendUnavailableException unavailable() {
+        rejected++;
+        return new BackendUnavailableException("Backend unavailable, failing fast: " + describe());
+    }
+
+    private String describe() {
+        return String.format("%.0f%% of the last %d calls failed (threshold %.0f%%), last failure: %s",
+                failureRate() * 100, recorded, failureRateThreshold * 100, lastFailure);
+    }
+}
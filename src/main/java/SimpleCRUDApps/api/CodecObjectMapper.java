@@ -0,0 +1,39 @@
+package SimpleCRUDApps.api;
+
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RestAssured's default object mapper on {@link ApiClient} specs, so body(...) and as(...) go through
+ * {@link JsonCodecs} instead of a per-call Jackson mapper lookup; types without a codec use the shared mapper
+ */
+final class CodecObjectMapper implements ObjectMapper {
+
+    static final CodecObjectMapper INSTANCE = new CodecObjectMapper();
+
+    private CodecObjectMapper() {
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        try {
+            return JsonCodecs.read(context.getDataToDeserialize().asByteArray(), context.getType());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize response body to " + context.getType(), e);
+        }
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        try {
+            return new String(JsonCodecs.write(context.getObjectToSerialize()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize request body", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package SimpleCRUDApps.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends RestAssured request bodies gzip-compressed when -Dapi.compressRequests=true
+ * Runs after {@link MetricsFilter} and {@link CaptureFilter}, so those still see the JSON; the compressed size
+ * is handed back to MetricsFilter through the filter context
+ */
+public class CompressionFilter implements Filter {
+
+    static final String REQUEST_WIRE_BYTES = "api.requestWireBytes";
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Object body = requestSpec.getBody();
+        if (HttpCompression.COMPRESS_REQUESTS && body != null) {
+            byte[] json = body instanceof byte[] bytes ? bytes : body.toString().getBytes(StandardCharsets.UTF_8);
+            byte[] compressed = HttpCompression.gzip(json);
+            requestSpec.body(compressed);
+            requestSpec.header("Content-Encoding", "gzip");
+            ctx.setValue(REQUEST_WIRE_BYTES, (long) compressed.length);
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+}
@@ -0,0 +1,172 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Validators (ETag / Last-Modified) and the last 200 response per URL, for conditional GETs
+ * A 304 is answered with a copy of the stored response, and the product list parsed from it is kept so
+ * repeated reads of an unchanged list neither transfer nor parse the body again
+ */
+public class ConditionalGetCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder bytesAvoided = new LongAdder();
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder parsesAvoided = new LongAdder();
+
+    public final class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final Response response;
+        private final byte[] body;
+        private volatile List<Product> products;
+
+        private Entry(String etag, String lastModified, Response response) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.response = response;
+            this.body = response.asByteArray();
+        }
+
+        public Response response() {
+            return response;
+        }
+
+        /**
+         * Body decoded as a product list, parsed on first use and shared (read-only) afterwards
+         */
+        public List<Product> products() {
+            List<Product> parsed = products;
+            if (parsed != null) {
+                parsesAvoided.increment();
+                return parsed;
+            }
+            parsed = parseProducts(body);
+            products = parsed;
+            return parsed;
+        }
+    }
+
+    public Entry get(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Add If-None-Match / If-Modified-Since from the stored entry, if any
+     */
+    public RequestSpecification withValidators(RequestSpecification request, Entry entry) {
+        if (entry == null) return request;
+        if (entry.etag != null) request.header("If-None-Match", entry.etag);
+        if (entry.lastModified != null) request.header("If-Modified-Since", entry.lastModified);
+        return request;
+    }
+
+    /**
+     * Resolve a conditional GET: a 304 answered for a stored entry returns a copy of the stored response
+     * carrying the 304's headers and time, a 200 carrying validators replaces the entry, anything else
+     * passes through untouched
+     */
+    public Response resolve(String url, Entry sent, Response response) {
+        int status = response.getStatusCode();
+        if (status == 304 && sent != null) {
+            notModified.increment();
+            bytesAvoided.add(sent.body.length);
+            return revalidated(sent.response, response);
+        }
+        if (status == 200) {
+            String etag = response.getHeader("ETag");
+            String lastModified = response.getHeader("Last-Modified");
+            if (etag != null || lastModified != null) {
+                entries.put(url, new Entry(etag, lastModified, response));
+            } else {
+                entries.remove(url);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Product list for a response from {@link #resolve}, reusing the parsed list when it carries the stored body
+     */
+    public List<Product> products(String url, Response response) {
+        Entry entry = entries.get(url);
+        if (entry != null && (entry.response == response || Arrays.equals(entry.body, response.asByteArray()))) {
+            return entry.products();
+        }
+        return parseProducts(response.asByteArray());
+    }
+
+    // Each caller gets its own copy, so one test's view of the response (cookies, session, filter
+    // properties) never leaks into another's; the 304's headers update the stored ones (RFC 9111 4.3.4,
+    // except the framing headers that describe the empty 304 body) and its time replaces the original's
+    private static Response revalidated(Response stored, Response notModified) {
+        List<Header> headers = new ArrayList<>();
+        for (Header header : notModified.getHeaders()) {
+            if (!header.getName().equalsIgnoreCase("Content-Length")
+                    && !header.getName().equalsIgnoreCase("Transfer-Encoding")) {
+                headers.add(header);
+            }
+        }
+        for (Header header : stored.getHeaders()) {
+            if (headers.stream().noneMatch(header::hasSameNameAs)) {
+                headers.add(header);
+            }
+        }
+        Response copy = new ResponseBuilder().clone(stored).setHeaders(new Headers(headers)).build();
+        if (copy instanceof RestAssuredResponseImpl impl && notModified instanceof RestAssuredResponseImpl sent) {
+            impl.setFilterContextProperties(sent.getFilterContextProperties());
+        }
+        return copy;
+    }
+
+    private List<Product> parseProducts(byte[] body) {
+        parses.increment();
+        try {
+            return List.copyOf(JsonCodecs.readList(new ByteArrayInputStream(body), Product.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse product list", e);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getNotModified() {
+        return notModified.sum();
+    }
+
+    public long getBytesAvoided() {
+        return bytesAvoided.sum();
+    }
+
+    public long getParses() {
+        return parses.sum();
+    }
+
+    public long getParsesAvoided() {
+        return parsesAvoided.sum();
+    }
+
+    public String stats() {
+        return String.format("Conditional GET: %d not-modified responses, %d body bytes and %d parses avoided (%d parses done)",
+                getNotModified(), getBytesAvoided(), getParsesAvoided(), getParses());
+    }
+}
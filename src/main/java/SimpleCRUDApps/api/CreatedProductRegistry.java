@@ -0,0 +1,51 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductId;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * IDs of products created through {@link Service}/{@link AsyncService} on one client that have not been deleted yet
+ * Whatever is still registered at the end of the run was leaked by a failed test and is removed by {@link OrphanSweeper}
+ * IDs are held as {@link ProductId}, so a long load run's registry stays small
+ */
+public class CreatedProductRegistry {
+
+    private final Set<ProductId> live = ConcurrentHashMap.newKeySet();
+    private final LongAdder created = new LongAdder();
+
+    public void onCreated(ProductId productId) {
+        if (productId != null && live.add(productId)) {
+            created.increment();
+        }
+    }
+
+    public void onDeleted(String productId) {
+        ProductId id = ProductId.tryParse(productId);
+        if (id != null) {
+            onDeleted(id);
+        }
+    }
+
+    public void onDeleted(ProductId productId) {
+        live.remove(productId);
+    }
+
+    public boolean contains(ProductId productId) {
+        return live.contains(productId);
+    }
+
+    public Set<ProductId> snapshot() {
+        return Set.copyOf(live);
+    }
+
+    public int size() {
+        return live.size();
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+}
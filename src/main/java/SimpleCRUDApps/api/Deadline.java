@@ -0,0 +1,154 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Time budget carried by the current thread (a test, an Allure step, a block of calls)
+ * While a deadline is open, every call through the API layer uses the remaining budget as its connect/read timeout
+ * and fails with {@link DeadlineExceededException} once it has run out, even mid-response (the RestAssured path shuts
+ * the connection down, see PooledConnectionManager); nested deadlines never extend the outer one
+ * <pre>
+ * try (Deadline.Scope ignored = Deadline.open("cleanup", Duration.ofSeconds(10))) { ... }
+ * Deadline.step("Update Product", Duration.ofSeconds(5), () -> { ... });
+ * </pre>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final long budgetMillis;
+    private final long expiresAt;
+
+    private Deadline(String name, long budgetMillis, long expiresAt) {
+        this.name = name;
+        this.budgetMillis = budgetMillis;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Restores the enclosing deadline (or none) when closed
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Deadline previous;
+        private final Deadline deadline;
+
+        private Scope(Deadline previous, Deadline deadline) {
+            this.previous = previous;
+            this.deadline = deadline;
+        }
+
+        public Deadline deadline() {
+            return deadline;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the deadline of the current thread, or null when calls are only bounded by the client's timeouts
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static Scope open(String name, Duration budget) {
+        Deadline previous = CURRENT.get();
+        long expiresAt = System.nanoTime() + budget.toNanos();
+        if (previous != null && previous.expiresAt - expiresAt < 0) {
+            expiresAt = previous.expiresAt;
+        }
+        Deadline deadline = new Deadline(name, budget.toMillis(), expiresAt);
+        CURRENT.set(deadline);
+        return new Scope(previous, deadline);
+    }
+
+    /**
+     * Carry the current deadline (if any) into a call that will run on another thread
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> call) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return call;
+        }
+        return () -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try (Scope ignored = new Scope(previous, deadline)) {
+                return call.get();
+            }
+        };
+    }
+
+    /**
+     * Allure step whose API calls share the given budget
+     */
+    public static void step(String name, Duration budget, Allure.ThrowableRunnableVoid step) {
+        Allure.step(name, () -> {
+            try (Scope ignored = open(name, budget)) {
+                step.run();
+            }
+        });
+    }
+
+    public static <T> T step(String name, Duration budget, Allure.ThrowableRunnable<T> step) {
+        return Allure.step(name, () -> {
+            try (Scope ignored = open(name, budget)) {
+                return step.run();
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long remainingMillis() {
+        return (expiresAt - System.nanoTime()) / 1_000_000L;
+    }
+
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Timeout for the next call: the remaining budget, capped at the client's own timeout, never 0 (= infinite)
+     */
+    public int timeoutMillis(int clientTimeoutMillis) {
+        return (int) Math.max(1, Math.min(clientTimeoutMillis, remainingMillis()));
+    }
+
+    /**
+     * @throws DeadlineExceededException when the budget is used up, before the operation touches the network
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            throw exceeded(operation, null);
+        }
+    }
+
+    public DeadlineExceededException exceeded(String operation, Throwable cause) {
+        return new DeadlineExceededException(name, budgetMillis, operation, cause);
+    }
+
+    /**
+     * Cause to report for a failed call: the deadline when it has run out, otherwise the original error
+     */
+    static RuntimeException translate(Deadline deadline, String operation, RuntimeException error) {
+        return deadline != null && deadline.isExpired() ? deadline.exceeded(operation, error) : error;
+    }
+}
@@ -0,0 +1,31 @@
+package SimpleCRUDApps.api;
+
+/**
+ * Thrown when a call runs out of the time budget of the enclosing {@link Deadline}
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String deadlineName;
+    private final long budgetMillis;
+    private final String operation;
+
+    public DeadlineExceededException(String deadlineName, long budgetMillis, String operation, Throwable cause) {
+        super("Deadline exceeded: " + operation + " did not complete within the " + budgetMillis
+                + " ms budget of '" + deadlineName + "'", cause);
+        this.deadlineName = deadlineName;
+        this.budgetMillis = budgetMillis;
+        this.operation = operation;
+    }
+
+    public String getDeadlineName() {
+        return deadlineName;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+}
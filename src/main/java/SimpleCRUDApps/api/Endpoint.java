@@ -0,0 +1,53 @@
+package SimpleCRUDApps.api;
+
+/**
+ * The five product API endpoints, used as keys for per-endpoint reporting
+ */
+public enum Endpoint {
+    CREATE("POST", baseEndPoint.productService),
+    LIST("GET", baseEndPoint.productService),
+    GET_BY_ID("GET", baseEndPoint.productService + "/{id}"),
+    UPDATE("PUT", baseEndPoint.productService + "/{id}"),
+    DELETE("DELETE", baseEndPoint.productService + "/{id}");
+
+    private final String method;
+    private final String path;
+
+    Endpoint(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String label() {
+        return method + " " + path;
+    }
+
+    /**
+     * Map a request onto its endpoint
+     * @param uriOrPath full URI or path of the request
+     * @return null when the request is not a product API call
+     */
+    public static Endpoint resolve(String method, String uriOrPath) {
+        int start = uriOrPath.indexOf(baseEndPoint.productService);
+        if (start < 0) return null;
+        String rest = uriOrPath.substring(start + baseEndPoint.productService.length());
+        int query = rest.indexOf('?');
+        if (query >= 0) rest = rest.substring(0, query);
+        boolean collection = rest.isEmpty() || rest.equals("/");
+        return switch (method.toUpperCase()) {
+            case "POST" -> collection ? CREATE : null;
+            case "GET" -> collection ? LIST : GET_BY_ID;
+            case "PUT" -> collection ? null : UPDATE;
+            case "DELETE" -> collection ? null : DELETE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package SimpleCRUDApps.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * gzip/deflate content coding for the API layer
+ * Responses: every client sends Accept-Encoding and decodes the body as a stream straight into the JSON parser
+ * Requests: with -Dapi.compressRequests=true JSON bodies are sent gzip-compressed (Content-Encoding: gzip),
+ * which the Express body parser inflates; leave it off for backends that do not
+ */
+public final class HttpCompression {
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    public static final boolean COMPRESS_REQUESTS = Boolean.getBoolean("api.compressRequests");
+
+    private HttpCompression() {
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip request body", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Wrap a response body so reading it yields the decoded bytes, unknown or missing codings pass through
+     */
+    public static InputStream decode(String contentEncoding, InputStream body) throws IOException {
+        if (contentEncoding == null) return body;
+        return switch (contentEncoding.trim().toLowerCase()) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, 8192);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+
+    public static InputStream decode(String contentEncoding, byte[] body) {
+        try {
+            return decode(contentEncoding, new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + contentEncoding + " response", e);
+        }
+    }
+
+    /**
+     * Decoded body as text, for error messages
+     */
+    public static String decodeToString(String contentEncoding, byte[] body) {
+        try (InputStream in = decode(contentEncoding, body)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Decoded length without decoding: gzip stores it (mod 2^32) in its trailer, deflate has to be inflated
+     */
+    public static long decodedLength(String contentEncoding, byte[] body) {
+        if (contentEncoding == null || body.length == 0) return body.length;
+        String coding = contentEncoding.trim().toLowerCase();
+        if ((coding.equals("gzip") || coding.equals("x-gzip")) && body.length >= 18) {
+            int n = body.length;
+            return (body[n - 4] & 0xFFL) | (body[n - 3] & 0xFFL) << 8 | (body[n - 2] & 0xFFL) << 16 | (body[n - 1] & 0xFFL) << 24;
+        }
+        if (coding.equals("deflate")) {
+            try (CountingInputStream in = new CountingInputStream(decode(coding, body))) {
+                in.transferTo(OutputStream.nullOutputStream());
+                return in.getCount();
+            } catch (IOException e) {
+                return body.length;
+            }
+        }
+        return body.length;
+    }
+
+    /**
+     * Counts the bytes read through it, e.g. to measure what a stream decoded to
+     */
+    public static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        public CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
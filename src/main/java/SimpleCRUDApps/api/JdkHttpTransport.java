@@ -0,0 +1,116 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.model.ProductResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Lean {@link ProductTransport}: the {@link ApiClient}'s java.net.http.HttpClient with bodies streamed
+ * (gzip-decoded when negotiated) through the generated model codecs, without RestAssured filters, Groovy or JsonPath
+ * Calls do not go through the circuit breaker and are not recorded in {@link ApiMetrics}
+ */
+public class JdkHttpTransport implements ProductTransport {
+
+    private static final String API_PATH = baseEndPoint.productService;
+
+    private final ApiClient client;
+    private final URI listUri;
+
+    public JdkHttpTransport(ApiClient client) {
+        this.client = client;
+        this.listUri = URI.create(client.getBaseUrl() + API_PATH);
+    }
+
+    @Override
+    public String name() {
+        return "JDK HttpClient";
+    }
+
+    @Override
+    public ProductResponse createProduct(ProductPayload product) {
+        return send("POST", listUri, product, ProductResponse.class);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        try (InputStream body = exchange("GET", listUri, null)) {
+            return JsonCodecs.readList(body, Product.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse GET " + API_PATH + " response", e);
+        }
+    }
+
+    @Override
+    public ProductResponse getProductById(String productId) {
+        return send("GET", productUri(productId), null, ProductResponse.class);
+    }
+
+    @Override
+    public ProductResponse updateProduct(String productId, ProductPayload product) {
+        return send("PUT", productUri(productId), product, ProductResponse.class);
+    }
+
+    @Override
+    public ProductResponse deleteProduct(String productId) {
+        return send("DELETE", productUri(productId), null, ProductResponse.class);
+    }
+
+    private URI productUri(String productId) {
+        return URI.create(client.getBaseUrl() + API_PATH + "/" + productId);
+    }
+
+    private <T> T send(String method, URI uri, ProductPayload body, Class<T> type) {
+        try (InputStream response = exchange(method, uri, body)) {
+            return JsonCodecs.read(response, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse " + method + " " + uri.getPath() + " response", e);
+        }
+    }
+
+    // Decoded response body, read by the caller straight from the (possibly gzip) stream
+    private InputStream exchange(String method, URI uri, ProductPayload body) {
+        Deadline deadline = Deadline.current();
+        if (deadline != null) {
+            deadline.check(method + " " + uri.getPath());
+        }
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(client.requestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING);
+            if (body == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else if (HttpCompression.COMPRESS_REQUESTS) {
+                request.header("Content-Encoding", "gzip").method(method,
+                        HttpRequest.BodyPublishers.ofByteArray(HttpCompression.gzip(body.toBody())));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.ofByteArray(body.toBody()));
+            }
+            HttpResponse<InputStream> response = client.httpClient().send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            InputStream decoded = HttpCompression.decode(response.headers().firstValue("Content-Encoding").orElse(null), response.body());
+            int status = response.statusCode();
+            if (status < 200 || status >= 300) {
+                try (decoded) {
+                    throw new ApiResponseException(method, uri.getPath(), status, new String(decoded.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            return decoded;
+        } catch (IOException e) {
+            throw Deadline.translate(deadline, method + " " + uri.getPath(),
+                    new UncheckedIOException(method + " " + uri.getPath() + " failed", e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling " + method + " " + uri.getPath(), e);
+        }
+    }
+}
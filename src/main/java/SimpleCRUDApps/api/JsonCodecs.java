@@ -0,0 +1,112 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.codegen.JsonCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * JSON entry point for the API layer: the compile-time generated codec of a model type when there is one
+ * (see {@link SimpleCRUDApps.codegen.GenerateJsonCodec}), otherwise the shared Jackson mapper
+ * Codecs are found once through ServiceLoader and read/write with the streaming parser, no databind reflection
+ */
+public final class JsonCodecs {
+
+    private static final JsonFactory FACTORY = Json.MAPPER.getFactory();
+    private static final Map<Class<?>, JsonCodec<?>> CODECS = load();
+
+    private JsonCodecs() {
+    }
+
+    private static Map<Class<?>, JsonCodec<?>> load() {
+        Map<Class<?>, JsonCodec<?>> codecs = new HashMap<>();
+        for (JsonCodec<?> codec : ServiceLoader.load(JsonCodec.class, JsonCodecs.class.getClassLoader())) {
+            codecs.put(codec.type(), codec);
+        }
+        return Map.copyOf(codecs);
+    }
+
+    /**
+     * @return the generated codec for the type, or null when it falls back to Jackson
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> codecFor(Class<T> type) {
+        return (JsonCodec<T>) CODECS.get(type);
+    }
+
+    public static <T> T read(byte[] json, Class<T> type) throws IOException {
+        JsonCodec<T> codec = codecFor(type);
+        if (codec == null) {
+            return Json.MAPPER.readValue(json, type);
+        }
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return codec.read(parser);
+        }
+    }
+
+    public static <T> T read(InputStream json, Class<T> type) throws IOException {
+        JsonCodec<T> codec = codecFor(type);
+        if (codec == null) {
+            return Json.MAPPER.readValue(json, type);
+        }
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return codec.read(parser);
+        }
+    }
+
+    /**
+     * Any Java type (e.g. from RestAssured's as(Type)); only plain classes can have a generated codec
+     */
+    public static Object read(byte[] json, Type type) throws IOException {
+        if (type instanceof Class<?> c && codecFor(c) != null) {
+            return read(json, c);
+        }
+        JavaType javaType = Json.MAPPER.constructType(type);
+        return Json.MAPPER.readValue(json, javaType);
+    }
+
+    /**
+     * Decode a JSON array of the type, closes the input
+     */
+    public static <T> List<T> readList(InputStream json, Class<T> type) throws IOException {
+        JsonCodec<T> codec = codecFor(type);
+        if (codec == null) {
+            return Json.MAPPER.readValue(json, Json.MAPPER.getTypeFactory().constructCollectionType(List.class, type));
+        }
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected a JSON array of " + type.getSimpleName());
+            }
+            List<T> values = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                values.add(codec.read(parser));
+            }
+            return values;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static byte[] write(Object value) throws IOException {
+        JsonCodec<Object> codec = value == null ? null : (JsonCodec<Object>) CODECS.get(value.getClass());
+        if (codec == null) {
+            return Json.MAPPER.writeValueAsBytes(value);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            codec.write(value, generator);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+package SimpleCRUDApps.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Times every RestAssured call and records it in {@link ApiMetrics} under its endpoint,
+ * with JSON and on-the-wire body sizes when the request or response was compressed
+ * Encoded response bodies are counted as they come off the connection ({@link #WIRE_COUNTER}, installed by
+ * {@link ApiClient} ahead of RestAssured's decoders), so chunked responses without Content-Length are measured too
+ */
+public class MetricsFilter implements Filter {
+
+    // Interceptors and filters run on the calling thread
+    private static final ThreadLocal<HttpCompression.CountingInputStream> WIRE = new ThreadLocal<>();
+
+    /**
+     * Wraps an encoded response entity so the bytes read from it before decoding are counted for this thread's call
+     */
+    static final HttpResponseInterceptor WIRE_COUNTER = (response, context) -> {
+        HttpEntity entity = response.getEntity();
+        if (entity == null || entity.getContentEncoding() == null) {
+            return;
+        }
+        response.setEntity(new HttpEntityWrapper(entity) {
+            @Override
+            public InputStream getContent() throws IOException {
+                HttpCompression.CountingInputStream counting = new HttpCompression.CountingInputStream(super.getContent());
+                WIRE.set(counting);
+                return counting;
+            }
+        });
+    };
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Endpoint endpoint = Endpoint.resolve(requestSpec.getMethod(), requestSpec.getURI());
+        Object body = requestSpec.getBody();
+        long requestBytes = body == null ? 0
+                : body instanceof byte[] bytes ? bytes.length : body.toString().getBytes(StandardCharsets.UTF_8).length;
+        long start = System.nanoTime();
+        WIRE.remove();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            long latencyMicros = (System.nanoTime() - start) / 1000;
+            Object requestWire = ctx.getValue(CompressionFilter.REQUEST_WIRE_BYTES);
+            long responseBytes = response.asByteArray().length;
+            ApiMetrics.recordCall(endpoint, latencyMicros, response.getStatusCode(),
+                    requestBytes, requestWire instanceof Long wire ? wire : requestBytes,
+                    responseBytes, responseWireBytes(responseBytes));
+            return response;
+        } catch (Exception e) {
+            // RestAssured rethrows connect/read IOExceptions undeclared, record those as status 0 too
+            ApiMetrics.recordCall(endpoint, (System.nanoTime() - start) / 1000, 0, requestBytes, 0);
+            throw e;
+        }
+    }
+
+    // RestAssured hands over the decoded body, read in full by now; an encoded one was counted on its way in
+    private static long responseWireBytes(long decodedBytes) {
+        HttpCompression.CountingInputStream wire = WIRE.get();
+        WIRE.remove();
+        return wire == null ? decodedBytes : wire.getCount();
+    }
+}
@@ -0,0 +1,47 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductResponse;
+
+import java.util.Set;
+
+/**
+ * End-of-run cleanup of products created by the tests and never deleted (see {@link CreatedProductRegistry})
+ * Deletes are pipelined through {@link BulkProductService}, -Dapi.sweep.maxInFlight (16) at a time;
+ * a 404 or "Product not found" means the product is already gone and counts as cleaned
+ */
+public final class OrphanSweeper {
+
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("api.sweep.maxInFlight", 16);
+
+    private OrphanSweeper() {
+    }
+
+    public record Report(String baseUrl, long created, int orphans, int deleted, int alreadyGone, int failed) {
+        @Override
+        public String toString() {
+            return String.format("Orphan sweep %s: %d products created through Service, %d left behind, %d deleted,"
+                    + " %d already gone, %d failed", baseUrl, created, orphans, deleted, alreadyGone, failed);
+        }
+    }
+
+    public static Report sweep(ApiClient client) {
+        CreatedProductRegistry registry = client.getCreatedProducts();
+        Set<ProductId> orphans = registry.snapshot();
+        if (orphans.isEmpty()) {
+            return new Report(client.getBaseUrl(), registry.getCreated(), 0, 0, 0, 0);
+        }
+        BulkResult<String, ProductResponse> result =
+                new BulkProductService(new AsyncService(client), MAX_IN_FLIGHT).deleteProducts(
+                        orphans.stream().map(ProductId::toHexString).toList());
+        int alreadyGone = 0;
+        for (BulkResult.Item<String, ProductResponse> failure : result.getFailures()) {
+            if (failure.error() instanceof ApiResponseException e && e.isNotFound()) {
+                registry.onDeleted(failure.input());
+                alreadyGone++;
+            }
+        }
+        return new Report(client.getBaseUrl(), registry.getCreated(), orphans.size(), result.getSuccessCount(),
+                alreadyGone, result.getFailureCount() - alreadyGone);
+    }
+}
@@ -0,0 +1,124 @@
+package SimpleCRUDApps.api;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keep-alive connection pool shared by every RestAssured request of an {@link ApiClient}
+ * RestAssured builds an HttpClient per request and shuts its connection manager down afterwards,
+ * so {@link #shutdown()} is a no-op here and the pool only closes through {@link #close()}
+ * Counts physical connections opened, which together with the request count gives the reuse ratio
+ * A connection leased inside a {@link Deadline} is shut down when the deadline expires: the socket timeout only
+ * bounds each read, so without it a response trickling in a few bytes at a time could outlive the budget
+ */
+@SuppressWarnings("deprecation") // RestAssured still requires the pre-4.3 HttpClient API
+class PooledConnectionManager extends PoolingClientConnectionManager {
+    private static final long CONNECTION_TTL_SECONDS = 60;
+
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final Map<ManagedClientConnection, ScheduledFuture<?>> watchdogs = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "api-deadline-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    PooledConnectionManager(int maxConnections) {
+        super(SchemeRegistryFactory.createDefault(), CONNECTION_TTL_SECONDS, TimeUnit.SECONDS);
+        setMaxTotal(maxConnections);
+        setDefaultMaxPerRoute(maxConnections);
+        watchdog.setRemoveOnCancelPolicy(true);
+    }
+
+    // Leased on the calling thread, so the caller's deadline is still current here
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ClientConnectionRequest request = super.requestConnection(route, state);
+        return new ClientConnectionRequest() {
+            @Override
+            public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                    throws InterruptedException, ConnectionPoolTimeoutException {
+                ManagedClientConnection connection = request.getConnection(timeout, unit);
+                Deadline deadline = Deadline.current();
+                if (deadline != null) {
+                    watchdogs.put(connection, watchdog.schedule(() -> shutdownQuietly(connection),
+                            Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS));
+                }
+                return connection;
+            }
+
+            @Override
+            public void abortRequest() {
+                request.abortRequest();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(ManagedClientConnection connection, long keepAlive, TimeUnit unit) {
+        ScheduledFuture<?> pending = watchdogs.remove(connection);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        super.releaseConnection(connection, keepAlive, unit);
+    }
+
+    // Fails the read blocked on this connection; the pool drops it on release since it is no longer open
+    private static void shutdownQuietly(ManagedClientConnection connection) {
+        try {
+            connection.shutdown();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+
+    int pendingWatchdogs() {
+        return watchdogs.size();
+    }
+
+    @Override
+    protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+        return new DefaultClientConnectionOperator(schemeRegistry) {
+            @Override
+            public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                       HttpContext context, HttpParams params) throws IOException {
+                super.openConnection(conn, target, local, context, params);
+                connectionsOpened.increment();
+            }
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        // Called by RestAssured after every request, the pool must outlive it
+    }
+
+    void close() {
+        watchdog.shutdownNow();
+        super.shutdown();
+    }
+
+    long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+}
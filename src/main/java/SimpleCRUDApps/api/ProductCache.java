@@ -0,0 +1,162 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductResponse;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Client-side read-through cache of products by ID, with TTL and LRU eviction at maxEntries
+ * Only used by call sites that opt in ({@link Service#getCachedProductById(String)}); writes through
+ * Service/AsyncService invalidate the entry
+ * Responses without an ID (e.g. "Product not found") are never cached; entries are keyed by {@link ProductId}
+ * and lookups with text that is not an ObjectId go straight to the loader
+ * A load that an invalidation overtakes is returned but not cached, so a write racing a lookup never leaves
+ * the pre-write value behind for the TTL
+ * ProductResponse is mutable, so the cache keeps its own copy and every lookup gets a fresh one
+ */
+public class ProductCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<ProductId, Entry> entries;
+    // Token of the load in flight per key, guarded by entries; invalidate() drops it so the load is not cached
+    private final Map<ProductId, Object> loading = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Entry(ProductResponse value, long expiresAt) {
+    }
+
+    public ProductCache(long ttlMillis, int maxEntries) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ProductId, Entry> eldest) {
+                if (size() > ProductCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Configured by -Dapi.cache.ttlMs (30000) and -Dapi.cache.maxEntries (1000)
+     */
+    public static ProductCache fromSystemProperties() {
+        return new ProductCache(Long.getLong("api.cache.ttlMs", 30_000L), Integer.getInteger("api.cache.maxEntries", 1000));
+    }
+
+    /**
+     * Cached value when present and fresh, otherwise load it (outside the lock) and cache it unless the key was
+     * invalidated while loading
+     */
+    public ProductResponse get(String productId, Function<String, ProductResponse> loader) {
+        ProductId id = ProductId.tryParse(productId);
+        if (id == null) {
+            misses.increment();
+            return loader.apply(productId);
+        }
+        Object token = new Object();
+        synchronized (entries) {
+            ProductResponse cached = getIfPresent(id);
+            if (cached != null) {
+                return cached;
+            }
+            loading.put(id, token);
+        }
+        misses.increment();
+        ProductResponse loaded = null;
+        try {
+            loaded = loader.apply(productId);
+            return loaded;
+        } finally {
+            synchronized (entries) {
+                if (loading.remove(id, token) && loaded != null && loaded.getId() != null) {
+                    entries.put(id, new Entry(loaded.toBuilder().build(), System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+    }
+
+    private ProductResponse getIfPresent(ProductId productId) {
+        synchronized (entries) {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt() >= 0) {
+                entries.remove(productId);
+                evictions.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value().toBuilder().build();
+        }
+    }
+
+    public void invalidate(String productId) {
+        ProductId id = ProductId.tryParse(productId);
+        if (id != null) {
+            invalidate(id);
+        }
+    }
+
+    public void invalidate(ProductId productId) {
+        synchronized (entries) {
+            loading.remove(productId);
+            if (entries.remove(productId) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            loading.clear();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public double hitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0 : (double) getHits() / total;
+    }
+
+    public String stats() {
+        return String.format("Product cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d invalidations, %d entries",
+                getHits(), getMisses(), hitRate() * 100, getEvictions(), getInvalidations(), size());
+    }
+}
@@ -0,0 +1,160 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.codegen.JsonCodec;
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductBatch;
+import SimpleCRUDApps.model.ProductId;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes a JSON array of products one element at a time with the Jackson streaming parser
+ * Only the current element is materialized, so memory stays flat however long the list is
+ * Elements are decoded by the generated Product codec, databind only if it is missing
+ */
+public final class ProductJsonStream {
+
+    private static final JsonCodec<Product> PRODUCT_CODEC = JsonCodecs.codecFor(Product.class);
+    private static final ObjectReader PRODUCT_READER = Json.MAPPER.readerFor(Product.class);
+
+    private ProductJsonStream() {
+    }
+
+    /**
+     * Push every product of the array to the consumer, closes the input when done
+     * @return number of products decoded
+     */
+    public static long forEach(InputStream input, Consumer<? super Product> consumer) {
+        try (Stream<Product> products = stream(input)) {
+            long[] count = {0};
+            products.forEach(product -> {
+                consumer.accept(product);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+
+    /**
+     * Lazily decoded stream of the array's products; close it (try-with-resources) to release the input
+     */
+    public static Stream<Product> stream(InputStream input) {
+        JsonParser parser;
+        try {
+            parser = Json.MAPPER.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IllegalStateException("Expected a JSON array of products");
+            }
+        } catch (IOException e) {
+            closeQuietly(input);
+            throw new UncheckedIOException("Failed to open product stream", e);
+        }
+        Spliterator<Product> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Product> action) {
+                try {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) {
+                        return false;
+                    }
+                    action.accept(PRODUCT_CODEC != null ? PRODUCT_CODEC.read(parser) : PRODUCT_READER.readValue(parser));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to decode product", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Decode the whole array into a columnar {@link ProductBatch}, token by token without creating
+     * Product records; unknown fields are skipped, closes the input when done
+     * Numbers must be whole (the columns are int like Product's fields), a fractional or quoted price fails the read
+     * instead of being truncated; rows without an ObjectId _id are kept and flagged, see {@link ProductBatch#rowsWithoutId()}
+     */
+    public static ProductBatch readBatch(InputStream input) {
+        ProductBatch batch = new ProductBatch();
+        try (JsonParser parser = Json.MAPPER.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected a JSON array of products");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                readRow(parser, batch);
+            }
+            return batch;
+        } catch (IOException e) {
+            closeQuietly(input);
+            throw new UncheckedIOException("Failed to decode product batch", e);
+        }
+    }
+
+    private static void readRow(JsonParser parser, ProductBatch batch) throws IOException {
+        ProductId id = null;
+        String name = null;
+        int quantity = 0;
+        int price = 0;
+        int version = 0;
+        long createdAt = ProductBatch.NO_TIMESTAMP;
+        long updatedAt = ProductBatch.NO_TIMESTAMP;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "_id" -> id = value == JsonToken.VALUE_STRING
+                        ? ProductId.tryParse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                        : null;
+                case "name" -> name = parser.getValueAsString();
+                case "quantity" -> quantity = wholeNumber(parser, value);
+                case "price" -> price = wholeNumber(parser, value);
+                case "__v" -> version = wholeNumber(parser, value);
+                case "createdAt" -> createdAt = ProductBatch.parseTimestamp(parser.getValueAsString());
+                case "updatedAt" -> updatedAt = ProductBatch.parseTimestamp(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+        batch.add(id, name, quantity, price, version, createdAt, updatedAt);
+    }
+
+    private static int wholeNumber(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (value == JsonToken.VALUE_NUMBER_FLOAT) {
+            double number = parser.getDoubleValue();
+            if (number == Math.rint(number) && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return (int) number;
+            }
+        }
+        throw new JsonParseException(parser, "Expected a whole number for '" + parser.currentName() + "', got " + parser.getText());
+    }
+
+    private static void closeQuietly(InputStream input) {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+            // already failing
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.model.ProductResponse;
+
+import java.util.List;
+
+/**
+ * The five product endpoints as plain blocking calls on the existing models, independent of the HTTP stack
+ * Non-2xx answers throw {@link ApiResponseException}; a missing product on GET is still a 200 with a message
+ * Implementations: {@link RestAssuredTransport} (the assertion-friendly path tests use) and
+ * {@link JdkHttpTransport} (java.net.http + Jackson, no filters)
+ * Bodies are sent as {@link ProductPayload} bytes; the ProductRequest overloads serialize a snapshot per call
+ */
+public interface ProductTransport {
+
+    String name();
+
+    ProductResponse createProduct(ProductPayload product);
+
+    default ProductResponse createProduct(ProductRequest product) {
+        return createProduct(ProductPayload.of(product));
+    }
+
+    List<Product> getAllProducts();
+
+    ProductResponse getProductById(String productId);
+
+    ProductResponse updateProduct(String productId, ProductPayload product);
+
+    default ProductResponse updateProduct(String productId, ProductRequest product) {
+        return updateProduct(productId, ProductPayload.of(product));
+    }
+
+    ProductResponse deleteProduct(String productId);
+}
@@ -0,0 +1,190 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import utils.LatencyHistogram;
+import utils.VirtualThreads;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests for idempotent calls: if the first attempt has not answered within the endpoint's
+ * observed latency percentile, a second identical attempt is started and whichever succeeds first wins
+ * Hedges are capped to a percentage of traffic (same token scheme as {@link RetryBudget}), the losing
+ * attempt is left to finish in the background and its result is dropped
+ * Attempts run on worker threads carrying the caller's context: its {@link Deadline}, per-test {@link ApiMetrics},
+ * {@link ApiCapture} ring and current Allure test, so a hedged call is reported like any other call of the test
+ */
+public class RequestHedger implements AutoCloseable {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double percentile;
+    private final long minDelayMicros;
+    private final long defaultDelayMicros;
+    private final RetryBudget budget;
+    private final ExecutorService executor = Executors.newCachedThreadPool(VirtualThreads.factory("api-hedge-"));
+    private final Map<Endpoint, Delay> delays = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder won = new LongAdder();
+
+    private record Delay(long micros, long computedAt) {
+    }
+
+    /**
+     * @param percentile latency percentile of the endpoint after which a hedge is sent, e.g. 95
+     * @param minDelayMillis lower bound for the hedge delay
+     * @param defaultDelayMillis delay used until the endpoint has enough latency samples
+     * @param maxHedgePercent hedges allowed per 100 requests
+     */
+    public RequestHedger(double percentile, long minDelayMillis, long defaultDelayMillis, int maxHedgePercent) {
+        this.percentile = percentile;
+        this.minDelayMicros = minDelayMillis * 1000;
+        this.defaultDelayMicros = defaultDelayMillis * 1000;
+        this.budget = new RetryBudget(maxHedgePercent / 100.0, 1, 10);
+    }
+
+    /**
+     * Configured by -Dapi.hedge.percentile (95), -Dapi.hedge.minDelayMs (50), -Dapi.hedge.defaultDelayMs (500)
+     * and -Dapi.hedge.maxPercent (5)
+     */
+    public static RequestHedger fromSystemProperties() {
+        return new RequestHedger(
+                Double.parseDouble(System.getProperty("api.hedge.percentile", "95")),
+                Long.getLong("api.hedge.minDelayMs", 50),
+                Long.getLong("api.hedge.defaultDelayMs", 500),
+                Integer.getInteger("api.hedge.maxPercent", 5));
+    }
+
+    /**
+     * Run an idempotent call, hedging it once if it is slower than the endpoint's hedge delay
+     */
+    public <T> T execute(Endpoint endpoint, Supplier<T> call) {
+        requests.increment();
+        budget.onRequest();
+        call = inCallerContext(call);
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(call, executor);
+        try {
+            return primary.get(hedgeDelayMicros(endpoint), TimeUnit.MICROSECONDS);
+        } catch (TimeoutException e) {
+            // slow: hedge below if the budget allows
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + endpoint.label(), e);
+        }
+        if (!budget.tryAcquireRetry()) {
+            return join(primary);
+        }
+        fired.increment();
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(call, executor);
+        return join(firstSuccessful(primary, hedge));
+    }
+
+    private static <T> Supplier<T> inCallerContext(Supplier<T> call) {
+        Supplier<T> scoped = ApiCapture.propagate(ApiMetrics.propagate(Deadline.propagate(call)));
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> testCase = lifecycle.getCurrentTestCase();
+        if (testCase.isEmpty()) {
+            return scoped;
+        }
+        // Allure offers no way to clear a thread's test, so each attempt sets the one it belongs to
+        return () -> {
+            lifecycle.setCurrentTestCase(testCase.get());
+            return scoped.get();
+        };
+    }
+
+    // Completes with the first attempt that succeeds, or with the primary's failure once both failed
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                winner.complete(value);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((value, error) -> {
+            if (error == null) {
+                if (winner.complete(value)) won.increment();
+            } else if (failures.incrementAndGet() == 2) {
+                primary.whenComplete((ignored, primaryError) -> winner.completeExceptionally(primaryError));
+            }
+        });
+        return winner;
+    }
+
+    long hedgeDelayMicros(Endpoint endpoint) {
+        long now = System.nanoTime();
+        Delay delay = delays.get(endpoint);
+        if (delay != null && now - delay.computedAt() < DELAY_REFRESH_NANOS) {
+            return delay.micros();
+        }
+        LatencyHistogram latency = ApiMetrics.global().latency(endpoint);
+        long micros = latency.getTotalCount() < MIN_SAMPLES
+                ? defaultDelayMicros
+                : Math.max(minDelayMicros, latency.valueAtPercentile(percentile));
+        delays.put(endpoint, new Delay(micros, now));
+        return micros;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+        if (cause instanceof RuntimeException runtime) return runtime;
+        if (cause instanceof Error error) throw error;
+        return new IllegalStateException(cause);
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getHedgesFired() {
+        return fired.sum();
+    }
+
+    public long getHedgesWon() {
+        return won.sum();
+    }
+
+    public long getHedgesDenied() {
+        return budget.getDenied();
+    }
+
+    public String stats() {
+        return String.format("Hedging: %d requests, %d hedges fired (%.1f%%), %d won by the hedge, %d denied by the cap",
+                getRequests(), getHedgesFired(), getRequests() == 0 ? 0 : 100.0 * getHedgesFired() / getRequests(),
+                getHedgesWon(), getHedgesDenied());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
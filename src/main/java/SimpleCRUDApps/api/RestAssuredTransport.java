@@ -0,0 +1,76 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.model.ProductResponse;
+import io.restassured.response.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * {@link ProductTransport} over {@link Service}: RestAssured filters, metrics and capture, as in the tests
+ */
+public class RestAssuredTransport implements ProductTransport {
+
+    private static final String API_PATH = baseEndPoint.productService;
+
+    private final Service service;
+
+    public RestAssuredTransport(ApiClient client) {
+        this(new Service(client));
+    }
+
+    public RestAssuredTransport(Service service) {
+        this.service = service;
+    }
+
+    @Override
+    public String name() {
+        return "RestAssured";
+    }
+
+    @Override
+    public ProductResponse createProduct(ProductPayload product) {
+        return read("POST", API_PATH, service.createProduct(product));
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        Response response = ensureSuccess("GET", API_PATH, service.getAllProducts());
+        try {
+            return JsonCodecs.readList(new ByteArrayInputStream(response.asByteArray()), Product.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse GET " + API_PATH + " response", e);
+        }
+    }
+
+    @Override
+    public ProductResponse getProductById(String productId) {
+        return read("GET", API_PATH + "/" + productId, service.getProductById(productId));
+    }
+
+    @Override
+    public ProductResponse updateProduct(String productId, ProductPayload product) {
+        return read("PUT", API_PATH + "/" + productId, service.updateProduct(productId, product));
+    }
+
+    @Override
+    public ProductResponse deleteProduct(String productId) {
+        return read("DELETE", API_PATH + "/" + productId, service.deleteProduct(productId));
+    }
+
+    private static ProductResponse read(String method, String path, Response response) {
+        return ensureSuccess(method, path, response).as(ProductResponse.class);
+    }
+
+    private static Response ensureSuccess(String method, String path, Response response) {
+        int status = response.getStatusCode();
+        if (status < 200 || status >= 300) {
+            throw new ApiResponseException(method, path, status, response.asString());
+        }
+        return response;
+    }
+}
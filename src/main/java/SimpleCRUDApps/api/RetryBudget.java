@@ -0,0 +1,56 @@
+package SimpleCRUDApps.api;
+
+/**
+ * Caps retries to a percentage of traffic so retries cannot multiply load on a struggling backend
+ * Every request deposits budgetRatio tokens (capped), every retry withdraws one
+ * Tokens are kept in thousandths, so e.g. ten requests at 10% add up to exactly one retry
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxTokens;
+    private long tokens;
+    private long retries;
+    private long denied;
+
+    /**
+     * @param budgetRatio retries allowed per request, e.g. 0.1 = 10% of traffic
+     * @param initialTokens retries available before any traffic has been seen
+     */
+    public RetryBudget(double budgetRatio, double initialTokens, double maxTokens) {
+        this.deposit = Math.round(budgetRatio * SCALE);
+        this.maxTokens = Math.round(maxTokens * SCALE);
+        this.tokens = Math.min(Math.round(initialTokens * SCALE), this.maxTokens);
+    }
+
+    /**
+     * Configured by -Dapi.retry.budgetPercent (10)
+     */
+    public static RetryBudget fromSystemProperties() {
+        return new RetryBudget(Integer.getInteger("api.retry.budgetPercent", 10) / 100.0, 3, 10);
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + deposit);
+    }
+
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens >= SCALE) {
+            tokens -= SCALE;
+            retries++;
+            return true;
+        }
+        denied++;
+        return false;
+    }
+
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    public synchronized long getDenied() {
+        return denied;
+    }
+}
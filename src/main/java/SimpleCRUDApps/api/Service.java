@@ -1,71 +1,360 @@
 package SimpleCRUDApps.api;
 
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductBatch;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductPayload;
 import SimpleCRUDApps.model.ProductRequest;
-import io.restassured.http.ContentType;
+import SimpleCRUDApps.model.ProductResponse;
+import io.restassured.builder.ResponseBuilder;
 import io.restassured.response.Response;
 
-import static io.restassured.RestAssured.given;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class Service {
 
     private static final String API_PATH = "/api/products";
+    private static final boolean CONDITIONAL_GETS = Boolean.parseBoolean(System.getProperty("api.conditionalGet", "true"));
+    private static final boolean COALESCE_LIST_GETS = Boolean.getBoolean("api.singleFlight");
+    private static final boolean HEDGE_GETS = Boolean.getBoolean("api.hedge");
 
+    private final ApiClient client;
+
+    /**
+     * Uses the shared client for -DbaseUrl (or the production URL), connections are pooled across instances
+     */
+    public Service() {
+        this(ApiClient.shared());
+    }
+
+    public Service(ApiClient client) {
+        this.client = client;
+    }
+
+    public ApiClient getClient() {
+        return client;
+    }
+
+    /**
+     * Serializes the request for this call only; build a {@link ProductPayload} once to replay a body
+     */
     public Response createProduct(ProductRequest product) {
-        return given()
-                .contentType(ContentType.JSON)
-                .body(product)
-                .when()
-                .post(API_PATH)
-                .then()
-                .log().all()
-                .extract()
-                .response();
+        return createProduct(ProductPayload.oneShot(product));
+    }
+
+    /**
+     * Sends the payload's pre-serialized bytes, so replaying one payload never re-serializes it
+     * Successful creates are registered so products a failing test leaves behind are swept at the end of the run
+     */
+    public Response createProduct(ProductPayload product) {
+        try {
+            Response response = call(Endpoint.CREATE, () -> client.given()
+                    .body(product.toBody())
+                    .when()
+                    .post(API_PATH));
+            if (response.getStatusCode() == 200) {
+                client.getCreatedProducts().onCreated(createdId(response));
+            }
+            return response;
+        } finally {
+            client.onWrite(null);
+        }
     }
 
+    /**
+     * GET /api/products, revalidated with If-None-Match / If-Modified-Since when a previous response
+     * carried validators; a 304 is answered with that previous 200 response, so callers always see 200
+     * Disable with -Dapi.conditionalGet=false
+     */
     public Response getAllProducts() {
-        return given()
-                .contentType(ContentType.JSON)
-                .when()
-                .get(API_PATH)
-                .then()
-                .log().all()
-                .extract()
-                .response();
+        return coalesced(Endpoint.LIST, API_PATH, () -> hedged(Endpoint.LIST, () -> {
+            if (!CONDITIONAL_GETS) {
+                return call(Endpoint.LIST, () -> client.given()
+                        .when()
+                        .get(API_PATH));
+            }
+            ConditionalGetCache cache = client.getConditionalGetCache();
+            ConditionalGetCache.Entry cached = cache.get(API_PATH);
+            Response response = call(Endpoint.LIST, () -> cache.withValidators(client.given(), cached)
+                    .when()
+                    .get(API_PATH));
+            return cache.resolve(API_PATH, cached, response);
+        }));
+    }
+
+    /**
+     * Product list from {@link #getAllProducts()}; while the backend answers 304 the list parsed from
+     * the last full response is returned again (read-only) instead of re-parsing
+     */
+    public List<Product> getProductList() {
+        Response response = getAllProducts();
+        if (response.getStatusCode() != 200) {
+            throw new ApiResponseException("GET", API_PATH, response.getStatusCode(), response.asString());
+        }
+        return client.getConditionalGetCache().products(API_PATH, response);
+    }
+
+    /**
+     * Stream GET /api/products straight from the socket into Product records, one at a time
+     * Unlike {@link #getAllProducts()} the body is never held as a String or JsonPath tree;
+     * close the returned stream (try-with-resources) to release the connection
+     */
+    public Stream<Product> streamAllProducts() {
+        return ProductJsonStream.stream(openProductList());
+    }
+
+    /**
+     * Push every product of GET /api/products to the consumer with constant memory
+     * @return number of products decoded
+     */
+    public long forEachProduct(Consumer<? super Product> consumer) {
+        return ProductJsonStream.forEach(openProductList(), consumer);
+    }
+
+    /**
+     * GET /api/products decoded straight from the socket into a columnar {@link ProductBatch},
+     * for auditing the full dataset without holding a Product record per row
+     */
+    public ProductBatch getProductBatch() {
+        return ProductJsonStream.readBatch(openProductList());
+    }
+
+    // Through the client's circuit breaker and retry budget like every RestAssured call
+    private InputStream openProductList() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(client.getBaseUrl() + API_PATH))
+                .timeout(client.requestTimeout())
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", HttpCompression.ACCEPT_ENCODING)
+                .GET()
+                .build();
+        StreamedList response = client.execute(Endpoint.LIST, () -> sendProductList(request),
+                StreamedList::status, StreamedList::errorBody);
+        if (response.status() != 200) {
+            throw new ApiResponseException("GET", API_PATH, response.status(), response.errorBody());
+        }
+        return response.body();
+    }
+
+    // A 200 body is left on the connection for the caller, any other body has been read into errorBody
+    private record StreamedList(int status, InputStream body, String errorBody) {
+    }
+
+    // One attempt: recorded in ApiMetrics (a 200 once its body is closed, with the bytes actually read) and in
+    // ApiCapture for failure-only logging, as MetricsFilter and CaptureFilter do for RestAssured calls
+    private StreamedList sendProductList(HttpRequest request) {
+        ApiMetrics scope = ApiMetrics.currentTest();
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response;
+        try {
+            response = client.httpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            ApiMetrics.recordCall(scope, Endpoint.LIST, (System.nanoTime() - start) / 1000, 0, 0, 0, 0, 0);
+            captureStreamed(request, null, start, "[" + e + "]");
+            throw new UncheckedIOException("GET " + API_PATH + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling GET " + API_PATH, e);
+        }
+        int status = response.statusCode();
+        HttpCompression.CountingInputStream wire = new HttpCompression.CountingInputStream(response.body());
+        HttpCompression.CountingInputStream decoded;
+        try {
+            decoded = new HttpCompression.CountingInputStream(
+                    HttpCompression.decode(response.headers().firstValue("Content-Encoding").orElse(null), wire));
+        } catch (IOException e) {
+            closeQuietly(wire);
+            ApiMetrics.recordCall(scope, Endpoint.LIST, (System.nanoTime() - start) / 1000, status, 0, 0, 0, wire.getCount());
+            throw new UncheckedIOException("GET " + API_PATH + " failed", e);
+        }
+        if (status != 200) {
+            String body;
+            try (decoded) {
+                body = new String(decoded.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                body = "[" + e + "]";
+            }
+            ApiMetrics.recordCall(scope, Endpoint.LIST, (System.nanoTime() - start) / 1000, status, 0, 0,
+                    decoded.getCount(), wire.getCount());
+            captureStreamed(request, response, start, body);
+            return new StreamedList(status, null, body);
+        }
+        captureStreamed(request, response, start, "[streamed body]");
+        InputStream body = new FilterInputStream(decoded) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        ApiMetrics.recordCall(scope, Endpoint.LIST, (System.nanoTime() - start) / 1000, status, 0, 0,
+                                decoded.getCount(), wire.getCount());
+                    }
+                }
+            }
+        };
+        return new StreamedList(status, body, null);
+    }
+
+    private static void captureStreamed(HttpRequest request, HttpResponse<?> response, long start, String body) {
+        if (ApiLogMode.current() != ApiLogMode.ON_FAILURE) {
+            return;
+        }
+        StringBuilder exchange = new StringBuilder(256);
+        exchange.append(">>> ").append(request.method()).append(' ').append(request.uri()).append('\n');
+        request.headers().map().forEach((name, values) -> exchange.append(name).append(": ").append(String.join(", ", values)).append('\n'));
+        exchange.append("<<< ").append(response == null ? "no response" : "HTTP " + response.statusCode())
+                .append(" (").append((System.nanoTime() - start) / 1_000_000).append(" ms)\n");
+        if (response != null) {
+            response.headers().map().forEach((name, values) -> exchange.append(name).append(": ").append(String.join(", ", values)).append('\n'));
+        }
+        exchange.append(body).append('\n');
+        ApiCapture.capture(exchange.toString());
+    }
+
+    private static void closeQuietly(InputStream input) {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+            // already failing
+        }
     }
 
     public Response getProductById(String productId) {
-        return given()
-                .contentType(ContentType.JSON)
+        String path = API_PATH + "/" + productId;
+        return hedged(Endpoint.GET_BY_ID, () -> call(Endpoint.GET_BY_ID, () -> client.given()
                 .when()
-                .get(API_PATH + "/" + productId)
-                .then()
-                .log().all()
-                .extract()
-                .response();
+                .get(path)));
+    }
+
+    public Response getProductById(ProductId productId) {
+        return getProductById(productId.toHexString());
+    }
+
+    /**
+     * Read-through cached lookup, opt-in for call sites that do not need to see the wire
+     * Tests verifying persistence should keep using {@link #getProductById(String)}
+     * TTL and size: -Dapi.cache.ttlMs, -Dapi.cache.maxEntries; statistics via getClient().getProductCache()
+     */
+    public ProductResponse getCachedProductById(String productId) {
+        return client.getProductCache().get(productId, id -> toProductResponse(getProductById(id)));
     }
 
+    /**
+     * Serializes the request for this call only, like {@link #createProduct(ProductRequest)}
+     */
     public Response updateProduct(String productId, ProductRequest product) {
-        return given()
-                .contentType(ContentType.JSON)
-                .body(product)
-                .when()
-                .put(API_PATH + "/" + productId)
-                .then()
-                .log().all()
-                .extract()
-                .response();
+        return updateProduct(productId, ProductPayload.oneShot(product));
+    }
+
+    public Response updateProduct(String productId, ProductPayload product) {
+        try {
+            return call(Endpoint.UPDATE, () -> client.given()
+                    .body(product.toBody())
+                    .when()
+                    .put(API_PATH + "/" + productId));
+        } finally {
+            client.onWrite(productId);
+        }
+    }
+
+    public Response updateProduct(ProductId productId, ProductRequest product) {
+        return updateProduct(productId.toHexString(), product);
+    }
+
+    public Response updateProduct(ProductId productId, ProductPayload product) {
+        return updateProduct(productId.toHexString(), product);
+    }
+
+    public Response deleteProduct(ProductId productId) {
+        return deleteProduct(productId.toHexString());
     }
 
     public Response deleteProduct(String productId) {
-        return given()
-                .contentType(ContentType.JSON)
-                .when()
-                .delete(API_PATH + "/" + productId)
-                .then()
-                .log().all()
-                .extract()
-                .response();
+        try {
+            Response response = call(Endpoint.DELETE, () -> client.given()
+                    .when()
+                    .delete(API_PATH + "/" + productId));
+            if (response.getStatusCode() == 200 || response.getStatusCode() == 404) {
+                client.getCreatedProducts().onDeleted(productId);
+            }
+            return response;
+        } finally {
+            client.onWrite(productId);
+        }
     }
-}
 
+    private static ProductId createdId(Response response) {
+        try {
+            return JsonCodecs.read(response.asByteArray(), ProductResponse.class).getProductId();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static ProductResponse toProductResponse(Response response) {
+        if (response.getStatusCode() != 200) {
+            throw new ApiResponseException("GET", API_PATH, response.getStatusCode(), response.asString());
+        }
+        try {
+            return JsonCodecs.read(response.asByteArray(), ProductResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse product response", e);
+        }
+    }
 
+    // With -Dapi.singleFlight=true identical list GETs already in flight on this client share one network call;
+    // the body is buffered first and every joiner gets its own copy of the Response. Off by default: it hides
+    // backend traffic from load runs, and a write through this client makes later GETs start a fresh call
+    private Response coalesced(Endpoint endpoint, String pathAndQuery, Supplier<Response> request) {
+        if (!COALESCE_LIST_GETS) {
+            return request.get();
+        }
+        boolean[] joined = {false};
+        Response response = client.getSingleFlight().execute(pathAndQuery, () -> {
+            Response leader = request.get();
+            leader.asByteArray();
+            return leader;
+        }, () -> {
+            joined[0] = true;
+            ApiMetrics.recordCollapsed(endpoint);
+        });
+        return joined[0] ? new ResponseBuilder().clone(response).build() : response;
+    }
+
+    // With -Dapi.hedge=true a GET slower than the endpoint's observed p95 (see RequestHedger) gets a
+    // second attempt and the first to succeed is returned
+    private Response hedged(Endpoint endpoint, Supplier<Response> request) {
+        if (!HEDGE_GETS) {
+            return request.get();
+        }
+        return client.getHedger().execute(endpoint, () -> {
+            Response response = request.get();
+            response.asByteArray();
+            return response;
+        });
+    }
+
+    // Runs through the client's circuit breaker; verbose mode then pretty-prints the response,
+    // otherwise CaptureFilter keeps it for failure-only logging
+    private Response call(Endpoint endpoint, Supplier<Response> request) {
+        Response response = client.execute(endpoint, request);
+        if (ApiLogMode.current() == ApiLogMode.ALL) {
+            response.then().log().all();
+        }
+        return response;
+    }
+}
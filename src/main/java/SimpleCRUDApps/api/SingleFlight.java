@@ -0,0 +1,82 @@
+package SimpleCRUDApps.api;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: the first caller for a key runs the call, callers arriving while
+ * it is in flight wait for and share its result (or its exception)
+ * Nothing is cached once the call completes, the next caller starts a fresh one; {@link #forgetAll()} makes
+ * later callers start fresh even while older calls are still in flight (e.g. after a write)
+ * A joiner waits no longer than its own {@link Deadline}, and runs the call itself when the leader ran out of its budget
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * @param onCollapsed run on the calling thread when this call joined one already in flight
+     */
+    public V execute(K key, Supplier<V> call, Runnable onCollapsed) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            collapsed.increment();
+            onCollapsed.run();
+            return await(key, existing, call);
+        }
+        try {
+            V value = call.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Callers from now on do not join calls already in flight, which may have started before a write
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V await(K key, CompletableFuture<V> leader, Supplier<V> call) {
+        Deadline deadline = Deadline.current();
+        try {
+            return deadline == null ? leader.get() : leader.get(Math.max(0, deadline.remainingMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw deadline.exceeded(String.valueOf(key), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DeadlineExceededException) {
+                // the leader's budget ran out, which says nothing about this caller's
+                return call.get();
+            }
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+}
@@ -0,0 +1,17 @@
+package SimpleCRUDApps.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate a reflection-free {@link JsonCodec} named {@code <Type>JsonCodec} next to the annotated class or record
+ * Honors @JsonProperty renames, @JsonIgnore and @JsonInclude(NON_NULL) on the type or a field; unknown JSON fields are always skipped
+ * Field types: String, int/long/double/boolean and their boxes, and value types with
+ * {@code static T read(JsonParser)} plus {@code write(JsonGenerator)} (e.g. ProductId)
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateJsonCodec {
+}
@@ -0,0 +1,23 @@
+package SimpleCRUDApps.codegen;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Streaming reader and writer for one model type, generated by {@link JsonCodecProcessor}
+ * Implementations are stateless and registered through META-INF/services for ServiceLoader
+ */
+public interface JsonCodec<T> {
+
+    Class<T> type();
+
+    /**
+     * @param parser positioned on the value's first token, or before it
+     * @return the value, or null for a JSON null
+     */
+    T read(JsonParser parser) throws IOException;
+
+    void write(T value, JsonGenerator generator) throws IOException;
+}
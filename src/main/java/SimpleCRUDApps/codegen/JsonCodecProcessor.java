@@ -0,0 +1,398 @@
+package SimpleCRUDApps.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a {@link JsonCodec} for every {@link GenerateJsonCodec} type and lists them in
+ * META-INF/services/SimpleCRUDApps.codegen.JsonCodec once the last round is over
+ * Classes are read with the no-arg constructor and setters, records with the canonical constructor;
+ * written with getters (or record accessors) in field order
+ * Scalars are read through {@link JsonScalars}, so mismatched tokens fail with the coercions databind allows;
+ * an @JsonIgnore record component is still passed to the constructor, as its default
+ * Compiled ahead of the rest of the module by the compile-codegen execution in pom.xml
+ */
+@SupportedAnnotationTypes("SimpleCRUDApps.codegen.GenerateJsonCodec")
+public class JsonCodecProcessor extends AbstractProcessor {
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_INCLUDE = "com.fasterxml.jackson.annotation.JsonInclude";
+    private static final String JSON_PARSER = "com.fasterxml.jackson.core.JsonParser";
+    private static final String JSON_GENERATOR = "com.fasterxml.jackson.core.JsonGenerator";
+
+    private final List<String> generated = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateJsonCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                error(element, "@GenerateJsonCodec only applies to classes and records");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            try {
+                List<Field> fields = fields(type);
+                if (fields != null) {
+                    generated.add(writeCodec(type, fields));
+                }
+            } catch (IOException e) {
+                error(type, "Failed to write JSON codec: " + e.getMessage());
+            }
+        }
+        if (roundEnv.processingOver() && !generated.isEmpty()) {
+            writeServiceFile();
+        }
+        return true;
+    }
+
+    // ignored: @JsonIgnore on a record component, neither read nor written; omitNull: NON_NULL on the field or type
+    private record Field(String name, String json, TypeMirror type, Kind kind, boolean ignored, boolean omitNull) {
+    }
+
+    private enum Kind {
+        STRING("readString", "writeString"),
+        INT("readInt", "writeNumber"),
+        LONG("readLong", "writeNumber"),
+        DOUBLE("readDouble", "writeNumber"),
+        BOOLEAN("readBoolean", "writeBoolean"),
+        VALUE_TYPE(null, null);
+
+        final String readerCall;
+        final String generatorCall;
+
+        Kind(String readerCall, String generatorCall) {
+            this.readerCall = readerCall;
+            this.generatorCall = generatorCall;
+        }
+    }
+
+    // Null when a field type is not supported, after reporting it
+    private List<Field> fields(TypeElement type) {
+        List<Field> fields = new ArrayList<>();
+        boolean supported = true;
+        boolean record = type.getKind() == ElementKind.RECORD;
+        String typeInclude = enumValue(annotation(type, JSON_INCLUDE), "value");
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            boolean ignored = annotation(field, JSON_IGNORE) != null;
+            if (ignored && !record) {
+                continue;
+            }
+            Kind kind = kind(field.asType());
+            if (kind == null && !ignored) {
+                error(field, "Unsupported field type for a generated JSON codec: " + field.asType());
+                supported = false;
+                continue;
+            }
+            String json = stringValue(annotation(field, JSON_PROPERTY), "value");
+            String include = enumValue(annotation(field, JSON_INCLUDE), "value");
+            fields.add(new Field(name, json == null || json.isEmpty() ? name : json, field.asType(), kind, ignored,
+                    "NON_NULL".equals(include != null ? include : typeInclude)));
+        }
+        return supported ? fields : null;
+    }
+
+    private Kind kind(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+        String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        switch (name) {
+            case "java.lang.String":
+                return Kind.STRING;
+            case "java.lang.Integer":
+                return Kind.INT;
+            case "java.lang.Long":
+                return Kind.LONG;
+            case "java.lang.Double":
+                return Kind.DOUBLE;
+            case "java.lang.Boolean":
+                return Kind.BOOLEAN;
+            default:
+                return isValueType((TypeElement) ((DeclaredType) type).asElement()) ? Kind.VALUE_TYPE : null;
+        }
+    }
+
+    // static T read(JsonParser) and an instance write(JsonGenerator)
+    private boolean isValueType(TypeElement type) {
+        boolean read = false;
+        boolean write = false;
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getParameters().size() != 1) {
+                continue;
+            }
+            String parameter = method.getParameters().get(0).asType().toString();
+            String name = method.getSimpleName().toString();
+            if (name.equals("read") && method.getModifiers().contains(Modifier.STATIC) && parameter.equals(JSON_PARSER)
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), type.asType())) {
+                read = true;
+            } else if (name.equals("write") && !method.getModifiers().contains(Modifier.STATIC) && parameter.equals(JSON_GENERATOR)) {
+                write = true;
+            }
+        }
+        return read && write;
+    }
+
+    private String writeCodec(TypeElement type, List<Field> fields) throws IOException {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String codecName = typeName + "JsonCodec";
+        boolean record = type.getKind() == ElementKind.RECORD;
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("import SimpleCRUDApps.codegen.JsonCodec;\n")
+                .append("import SimpleCRUDApps.codegen.JsonScalars;\n")
+                .append("import com.fasterxml.jackson.core.JsonGenerator;\n")
+                .append("import com.fasterxml.jackson.core.JsonParseException;\n")
+                .append("import com.fasterxml.jackson.core.JsonParser;\n")
+                .append("import com.fasterxml.jackson.core.JsonToken;\n\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.util.Objects;\n\n")
+                .append("@javax.annotation.processing.Generated(\"").append(JsonCodecProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(codecName).append(" implements JsonCodec<").append(typeName).append("> {\n\n");
+
+        src.append("    @Override\n")
+                .append("    public Class<").append(typeName).append("> type() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n");
+
+        // Reader
+        src.append("    @Override\n")
+                .append("    public ").append(typeName).append(" read(JsonParser parser) throws IOException {\n")
+                .append("        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();\n")
+                .append("        if (token == JsonToken.VALUE_NULL) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        if (token != JsonToken.START_OBJECT) {\n")
+                .append("            throw new JsonParseException(parser, \"Expected an object for ").append(typeName).append(" but got \" + token);\n")
+                .append("        }\n");
+        if (record) {
+            for (Field field : fields) {
+                src.append("        ").append(field.type()).append(" ").append(local(field)).append(" = ")
+                        .append(defaultValue(field.type())).append(";\n");
+            }
+        } else {
+            src.append("        ").append(typeName).append(" value = new ").append(typeName).append("();\n");
+        }
+        src.append("        String field;\n")
+                .append("        while ((field = parser.nextFieldName()) != null) {\n")
+                .append("            JsonToken next = parser.nextToken();\n");
+        src.append("            switch (field) {\n");
+        for (Field field : fields) {
+            if (field.ignored()) {
+                continue;
+            }
+            String decode;
+            if (field.kind() == Kind.VALUE_TYPE) {
+                decode = qualifiedName(field.type()) + ".read(parser)";
+            } else if (field.type().getKind().isPrimitive()) {
+                // A blank string reads as null, which databind turns into the primitive's default
+                decode = "Objects.requireNonNullElse(JsonScalars." + field.kind().readerCall + "(parser), "
+                        + defaultValue(field.type()) + ")";
+            } else {
+                decode = "JsonScalars." + field.kind().readerCall + "(parser)";
+            }
+            String assign = record ? local(field) + " = " + decode : "value." + setter(field) + "(" + decode + ")";
+            src.append("                case \"").append(field.json()).append("\" -> {\n")
+                    .append("                    if (next != JsonToken.VALUE_NULL) {\n")
+                    .append("                        ").append(assign).append(";\n")
+                    .append("                    }\n")
+                    .append("                }\n");
+        }
+        src.append("                default -> parser.skipChildren();\n")
+                .append("            }\n")
+                .append("        }\n");
+        if (record) {
+            src.append("        return new ").append(typeName).append("(");
+            for (int i = 0; i < fields.size(); i++) {
+                src.append(i == 0 ? "" : ", ").append(local(fields.get(i)));
+            }
+            src.append(");\n");
+        } else {
+            src.append("        return value;\n");
+        }
+        src.append("    }\n\n");
+
+        // Writer
+        src.append("    @Override\n")
+                .append("    public void write(").append(typeName).append(" value, JsonGenerator generator) throws IOException {\n")
+                .append("        if (value == null) {\n")
+                .append("            generator.writeNull();\n")
+                .append("            return;\n")
+                .append("        }\n")
+                .append("        generator.writeStartObject();\n");
+        for (Field field : fields) {
+            if (field.ignored()) {
+                continue;
+            }
+            String get = "value." + (record ? field.name() + "()" : getter(field) + "()");
+            String encode = field.kind() == Kind.VALUE_TYPE
+                    ? local(field) + ".write(generator)"
+                    : "generator." + field.kind().generatorCall + "(" + local(field) + ")";
+            src.append("        ").append(field.type()).append(" ").append(local(field)).append(" = ").append(get).append(";\n");
+            if (field.type().getKind().isPrimitive()) {
+                src.append("        generator.writeFieldName(\"").append(field.json()).append("\");\n")
+                        .append("        ").append(encode).append(";\n");
+            } else if (field.omitNull()) {
+                src.append("        if (").append(local(field)).append(" != null) {\n")
+                        .append("            generator.writeFieldName(\"").append(field.json()).append("\");\n")
+                        .append("            ").append(encode).append(";\n")
+                        .append("        }\n");
+            } else {
+                src.append("        generator.writeFieldName(\"").append(field.json()).append("\");\n")
+                        .append("        if (").append(local(field)).append(" == null) {\n")
+                        .append("            generator.writeNull();\n")
+                        .append("        } else {\n")
+                        .append("            ").append(encode).append(";\n")
+                        .append("        }\n");
+            }
+        }
+        src.append("        generator.writeEndObject();\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(src.toString());
+        }
+        return qualifiedName;
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + JsonCodec.class.getName());
+            try (Writer writer = file.openWriter()) {
+                for (String codec : generated) {
+                    writer.write(codec);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to register JSON codecs: " + e.getMessage());
+        }
+    }
+
+    // Locals are prefixed so field names like _id or __v never clash with parser/generator/value
+    private static String local(Field field) {
+        return "f" + capitalize(field.name());
+    }
+
+    private static String setter(Field field) {
+        return "set" + capitalize(field.name());
+    }
+
+    private static String getter(Field field) {
+        return (field.type().getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalize(field.name());
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String qualifiedName(TypeMirror type) {
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case DOUBLE:
+                return "0.0";
+            case BOOLEAN:
+                return "false";
+            default:
+                return "null";
+        }
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String stringValue(AnnotationMirror mirror, String attribute) {
+        AnnotationValue value = attributeValue(mirror, attribute);
+        return value == null ? null : String.valueOf(value.getValue());
+    }
+
+    // Enum constants come back as VariableElements, compare by simple name
+    private static String enumValue(AnnotationMirror mirror, String attribute) {
+        AnnotationValue value = attributeValue(mirror, attribute);
+        return value != null && value.getValue() instanceof VariableElement constant ? constant.getSimpleName().toString() : null;
+    }
+
+    private static AnnotationValue attributeValue(AnnotationMirror mirror, String attribute) {
+        if (mirror == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,115 @@
+package SimpleCRUDApps.codegen;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Scalar readers called by the generated codecs, with the token coercions Jackson databind applies by default
+ * Numbers may be quoted, a float is truncated to an integer, a blank string reads as null, a boolean may be 0/1;
+ * any other token (a non-numeric string, true for a number, an object or array) fails like databind instead of reading 0
+ * The parser is positioned on a non-null value token
+ */
+public final class JsonScalars {
+
+    private JsonScalars() {
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isScalarValue() && token != JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return parser.getText();
+        }
+        throw mismatch(parser, "a string");
+    }
+
+    public static Integer readInt(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getIntValue();
+            case VALUE_NUMBER_FLOAT:
+                return (int) truncate(parser, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                try {
+                    return text.isEmpty() ? null : Integer.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw mismatch(parser, "an int");
+                }
+            default:
+                throw mismatch(parser, "an int");
+        }
+    }
+
+    public static Long readLong(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                return truncate(parser, Long.MIN_VALUE, Long.MAX_VALUE);
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                try {
+                    return text.isEmpty() ? null : Long.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw mismatch(parser, "a long");
+                }
+            default:
+                throw mismatch(parser, "a long");
+        }
+    }
+
+    public static Double readDouble(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                try {
+                    return text.isEmpty() ? null : Double.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw mismatch(parser, "a double");
+                }
+            default:
+                throw mismatch(parser, "a double");
+        }
+    }
+
+    public static Boolean readBoolean(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NUMBER_INT:
+                return parser.getBigIntegerValue().signum() != 0;
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) {
+                    return Boolean.valueOf(text);
+                }
+                throw mismatch(parser, "a boolean");
+            default:
+                throw mismatch(parser, "a boolean");
+        }
+    }
+
+    private static long truncate(JsonParser parser, long min, long max) throws IOException {
+        double value = parser.getDoubleValue();
+        if (Double.isNaN(value) || value < min || value > max) {
+            throw mismatch(parser, "a number in range");
+        }
+        return (long) value;
+    }
+
+    private static JsonParseException mismatch(JsonParser parser, String expected) throws IOException {
+        return new JsonParseException(parser, "Cannot read " + parser.currentToken() + " '" + parser.getText()
+                + "' of field '" + parser.currentName() + "' as " + expected);
+    }
+}
@@ -0,0 +1,177 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.api.AsyncService;
+import SimpleCRUDApps.api.Endpoint;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductResponse;
+import utils.LatencyHistogram;
+import utils.VirtualThreads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Replays the create -> get -> update -> delete -> verify-deleted flow of the CSV-driven API test
+ * from worker threads (virtual when available) for a fixed duration, at a fixed concurrency or
+ * paced to a target rate of sequences per second
+ */
+public class CrudLoadRunner {
+
+    static final String NOT_FOUND_MESSAGE = "Product not found";
+
+    private final LoadConfig config;
+    private final AsyncService service;
+
+    public CrudLoadRunner(LoadConfig config) {
+        if (config.getRows() == null || config.getRows().isEmpty()) {
+            throw new IllegalArgumentException("LoadConfig needs at least one CrudRow");
+        }
+        this.config = config;
+        this.service = config.getBaseUrl() == null ? new AsyncService() : new AsyncService(config.getBaseUrl());
+    }
+
+    public LoadReport run() {
+        ThreadFactory threadFactory = VirtualThreads.factory("crud-load-");
+        long start = System.nanoTime();
+        long deadline = start + config.getDuration().toNanos();
+        AtomicLong nextSlot = new AtomicLong();
+        AtomicLong nextRow = new AtomicLong();
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.getConcurrency(); i++) {
+            Worker worker = new Worker();
+            workers.add(worker);
+            Thread thread = threadFactory.newThread(() -> worker.loop(start, deadline, nextSlot, nextRow));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                threads.forEach(Thread::interrupt);
+                break;
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Endpoint, LatencyHistogram> latencies = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+        LatencyHistogram sequenceLatency = new LatencyHistogram();
+        long sequences = 0;
+        long failed = 0;
+        for (Worker worker : workers) {
+            sequenceLatency.merge(worker.sequenceLatency);
+            sequences += worker.sequences;
+            failed += worker.failedSequences;
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.computeIfAbsent(endpoint, e -> new LatencyHistogram()).merge(worker.latencies.get(endpoint));
+                errors.merge(endpoint, worker.errors[endpoint.ordinal()], Long::sum);
+            }
+        }
+        return new LoadReport(elapsed, sequences, failed, sequenceLatency, latencies, errors);
+    }
+
+    /**
+     * Per-thread state, only merged after the worker thread has been joined
+     */
+    private class Worker {
+        private final Map<Endpoint, LatencyHistogram> latencies = new EnumMap<>(Endpoint.class);
+        private final long[] errors = new long[Endpoint.values().length];
+        private final LatencyHistogram sequenceLatency = new LatencyHistogram();
+        private long sequences;
+        private long failedSequences;
+
+        Worker() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new LatencyHistogram());
+            }
+        }
+
+        void loop(long start, long deadline, AtomicLong nextSlot, AtomicLong nextRow) {
+            long intervalNanos = config.isRateLimited() ? (long) (1_000_000_000L / config.getTargetRatePerSecond()) : 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                long intendedStart;
+                if (config.isRateLimited()) {
+                    intendedStart = start + nextSlot.getAndIncrement() * intervalNanos;
+                    if (intendedStart >= deadline) return;
+                    FixedRateMeasurement.parkUntil(intendedStart);
+                } else if ((intendedStart = System.nanoTime()) >= deadline) {
+                    return;
+                }
+                List<CrudRow> rows = config.getRows();
+                CrudRow row = rows.get((int) (nextRow.getAndIncrement() % rows.size()));
+                sequences++;
+                if (!runSequence(row)) {
+                    failedSequences++;
+                }
+                // Paced runs measure from the slot's intended start so queueing behind a slow backend is counted
+                sequenceLatency.record((System.nanoTime() - intendedStart) / 1000);
+            }
+        }
+
+        private boolean runSequence(CrudRow row) {
+            ProductId createdId = null;
+            try {
+                ProductResponse created = timed(Endpoint.CREATE,
+                        () -> service.createProduct(row.create()).join(),
+                        r -> r.getProductId() != null);
+                createdId = created.getProductId();
+                final ProductId id = createdId;
+
+                timed(Endpoint.GET_BY_ID, () -> service.getProductById(id).join(), r -> id.equals(r.getProductId()));
+                if (row.update() != null) {
+                    timed(Endpoint.UPDATE, () -> service.updateProduct(id, row.update()).join(), r -> id.equals(r.getProductId()));
+                }
+                timed(Endpoint.DELETE, () -> service.deleteProduct(id).join(), r -> true);
+                createdId = null;
+                timed(Endpoint.GET_BY_ID, () -> service.getProductById(id).join(),
+                        r -> NOT_FOUND_MESSAGE.equals(r.getMessage()));
+                return true;
+            } catch (StepFailedException e) {
+                if (createdId != null) {
+                    deleteQuietly(createdId);
+                }
+                return false;
+            }
+        }
+
+        private ProductResponse timed(Endpoint endpoint, Supplier<ProductResponse> call, Predicate<ProductResponse> check) {
+            long t0 = System.nanoTime();
+            try {
+                ProductResponse response = call.get();
+                if (!check.test(response)) {
+                    throw new IllegalStateException("Unexpected " + endpoint.label() + " response: " + response);
+                }
+                latencies.get(endpoint).record((System.nanoTime() - t0) / 1000);
+                return response;
+            } catch (RuntimeException e) {
+                errors[endpoint.ordinal()]++;
+                throw new StepFailedException(e);
+            }
+        }
+
+        private void deleteQuietly(ProductId productId) {
+            try {
+                service.deleteProduct(productId).join();
+            } catch (RuntimeException ignored) {
+                // leaked product, nothing more to do from a load worker
+            }
+        }
+    }
+
+    private static class StepFailedException extends RuntimeException {
+        StepFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
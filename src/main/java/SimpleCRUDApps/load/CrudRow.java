@@ -0,0 +1,81 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.model.ProductPayload;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One create/update pair of the CRUD flow, as described by a row of test-data/list_of_product.csv
+ * update is null when the row leaves all update columns empty
+ * Both are pre-serialized payloads, so replaying a row thousands of times in a load run serializes it once
+ */
+public record CrudRow(ProductPayload create, ProductPayload update) {
+
+    /**
+     * Load rows from a classpath CSV with the same columns as test-data/list_of_product.csv
+     */
+    public static List<CrudRow> fromCsv(String resource) {
+        String path = resource.startsWith("/") ? resource.substring(1) : resource;
+        InputStream input = CrudRow.class.getClassLoader().getResourceAsStream(path);
+        if (input == null) {
+            throw new RuntimeException(resource + " not found in resources");
+        }
+        List<CrudRow> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    rows.add(parse(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+        return rows;
+    }
+
+    static CrudRow parse(String line) {
+        String[] cols = line.split(",", -1);
+        String name = column(cols, 0);
+        Integer price = parseInteger(column(cols, 1));
+        Integer quantity = parseInteger(column(cols, 2));
+        ProductPayload create = ProductPayload.of(name, quantity, price);
+
+        String updName = column(cols, 3);
+        Integer updPrice = parseInteger(column(cols, 4));
+        Integer updQty = parseInteger(column(cols, 5));
+        ProductPayload update = null;
+        if (updName != null || updPrice != null || updQty != null) {
+            update = ProductPayload.of(
+                    updName != null ? updName : name,
+                    updQty != null ? updQty : quantity,
+                    updPrice != null ? updPrice : price);
+        }
+        return new CrudRow(create, update);
+    }
+
+    // Same cleaning rules as the CSV-driven API test: strip quotes, empty means "unchanged"
+    private static String column(String[] cols, int index) {
+        if (index >= cols.length) return null;
+        String value = cols[index].trim().replace("\"", "").replace("'", "").trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseInteger(String s) {
+        if (s == null) return null;
+        String t = s.replaceAll("[^0-9-]", "");
+        if (t.isEmpty()) return null;
+        try {
+            return Integer.parseInt(t);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package SimpleCRUDApps.load;
+
+import utils.LatencyRecorder;
+import utils.VirtualThreads;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model measurement of a single API call
+ * Requests are dispatched on a fixed-rate timeline regardless of how fast earlier ones complete, and
+ * response time is measured from each request's intended start, so a slow backend shows up as queueing
+ * delay instead of silently lowering the offered load (no coordinated omission)
+ * Service time (actual send to completion) is recorded separately for comparison
+ */
+public class FixedRateMeasurement {
+
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final int maxInFlight;
+
+    /**
+     * @param maxInFlight number of worker threads; requests beyond that wait in queue and the wait is measured
+     */
+    public FixedRateMeasurement(double ratePerSecond, Duration duration, int maxInFlight) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be > 0");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Run the call at the configured rate, e.g. {@code measurement.run(() -> service.getProductById(id))}
+     * A call counts as failed when it throws
+     */
+    public OpenModelReport run(Callable<?> call) {
+        LatencyRecorder responseTime = new LatencyRecorder();
+        LatencyRecorder serviceTime = new LatencyRecorder();
+        LongAdder errors = new LongAdder();
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+
+        ExecutorService workers = Executors.newFixedThreadPool(maxInFlight, VirtualThreads.factory("fixed-rate-"));
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        try {
+            for (long intended = start; intended < end; intended = start + sent * intervalNanos) {
+                parkUntil(intended);
+                if (Thread.currentThread().isInterrupted()) break;
+                final long intendedStart = intended;
+                workers.execute(() -> {
+                    long actualStart = System.nanoTime();
+                    try {
+                        call.call();
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    long done = System.nanoTime();
+                    responseTime.record((done - intendedStart) / 1000);
+                    serviceTime.record((done - actualStart) / 1000);
+                });
+                sent++;
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                if (!workers.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+                    workers.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new OpenModelReport(ratePerSecond, startMillis, elapsed, sent, errors.sum(),
+                responseTime.snapshot(), serviceTime.snapshot());
+    }
+
+    static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package SimpleCRUDApps.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for a {@link CrudLoadRunner} run
+ * With targetRatePerSecond > 0 the run is paced to that many CRUD sequences per second and
+ * concurrency only caps the number of sequences in flight; otherwise each worker loops back to back
+ */
+@Getter
+@Builder
+public class LoadConfig {
+    private final String baseUrl;
+    private final List<CrudRow> rows;
+
+    @Builder.Default
+    private final int concurrency = 16;
+    @Builder.Default
+    private final double targetRatePerSecond = 0;
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(30);
+
+    public boolean isRateLimited() {
+        return targetRatePerSecond > 0;
+    }
+}
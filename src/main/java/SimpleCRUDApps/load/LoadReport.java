@@ -0,0 +1,106 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.api.Endpoint;
+import utils.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Result of a load run: throughput, error rate and latency percentiles (microseconds) per endpoint
+ */
+public class LoadReport {
+    private final Duration elapsed;
+    private final long sequences;
+    private final long failedSequences;
+    private final LatencyHistogram sequenceLatency;
+    private final Map<Endpoint, LatencyHistogram> latencies;
+    private final Map<Endpoint, Long> errors;
+
+    LoadReport(Duration elapsed, long sequences, long failedSequences, LatencyHistogram sequenceLatency,
+               Map<Endpoint, LatencyHistogram> latencies, Map<Endpoint, Long> errors) {
+        this.elapsed = elapsed;
+        this.sequences = sequences;
+        this.failedSequences = failedSequences;
+        this.sequenceLatency = sequenceLatency;
+        this.latencies = new EnumMap<>(latencies);
+        this.errors = new EnumMap<>(errors);
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public long getSequences() {
+        return sequences;
+    }
+
+    public long getFailedSequences() {
+        return failedSequences;
+    }
+
+    /**
+     * Whole CRUD sequence latency, measured from the intended start when the run is rate limited
+     */
+    public LatencyHistogram getSequenceLatency() {
+        return sequenceLatency;
+    }
+
+    public LatencyHistogram getLatency(Endpoint endpoint) {
+        return latencies.getOrDefault(endpoint, new LatencyHistogram());
+    }
+
+    public long getErrors(Endpoint endpoint) {
+        return errors.getOrDefault(endpoint, 0L);
+    }
+
+    public double getThroughput(Endpoint endpoint) {
+        long calls = getLatency(endpoint).getTotalCount() + getErrors(endpoint);
+        return calls / seconds();
+    }
+
+    public double getErrorRate(Endpoint endpoint) {
+        long calls = getLatency(endpoint).getTotalCount() + getErrors(endpoint);
+        return calls == 0 ? 0 : (double) getErrors(endpoint) / calls;
+    }
+
+    private double seconds() {
+        return Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+    }
+
+    /**
+     * Plain-text table, suitable for the console and as an Allure attachment
+     */
+    public String toTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Elapsed: %.1fs, sequences: %d (%.1f/s), failed sequences: %d%n",
+                seconds(), sequences, sequences / seconds(), failedSequences));
+        sb.append(String.format("%-32s %8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Calls", "Req/s", "Err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyHistogram h = getLatency(endpoint);
+            long calls = h.getTotalCount() + getErrors(endpoint);
+            if (calls == 0) continue;
+            sb.append(String.format("%-32s %8d %9.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.label(), calls, getThroughput(endpoint), getErrorRate(endpoint) * 100,
+                    ms(h.valueAtPercentile(50)), ms(h.valueAtPercentile(90)), ms(h.valueAtPercentile(99)),
+                    ms(h.valueAtPercentile(99.9)), ms(h.getMaxValue())));
+        }
+        sb.append(String.format("%-32s %8d %9s %7s %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                "CRUD sequence", sequenceLatency.getTotalCount(), "", "",
+                ms(sequenceLatency.valueAtPercentile(50)), ms(sequenceLatency.valueAtPercentile(90)),
+                ms(sequenceLatency.valueAtPercentile(99)), ms(sequenceLatency.valueAtPercentile(99.9)),
+                ms(sequenceLatency.getMaxValue())));
+        return sb.toString();
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return toTable();
+    }
+}
@@ -0,0 +1,88 @@
+package SimpleCRUDApps.load;
+
+import utils.HistogramLogWriter;
+import utils.LatencyHistogram;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Result of a {@link FixedRateMeasurement}: response time (from intended start) and service time histograms
+ */
+public class OpenModelReport {
+    public static final String RESPONSE_TIME_TAG = "response";
+    public static final String SERVICE_TIME_TAG = "service";
+
+    private final double targetRatePerSecond;
+    private final long startTimeMillis;
+    private final Duration elapsed;
+    private final long sent;
+    private final long errors;
+    private final LatencyHistogram responseTime;
+    private final LatencyHistogram serviceTime;
+
+    OpenModelReport(double targetRatePerSecond, long startTimeMillis, Duration elapsed, long sent, long errors,
+                    LatencyHistogram responseTime, LatencyHistogram serviceTime) {
+        this.targetRatePerSecond = targetRatePerSecond;
+        this.startTimeMillis = startTimeMillis;
+        this.elapsed = elapsed;
+        this.sent = sent;
+        this.errors = errors;
+        this.responseTime = responseTime;
+        this.serviceTime = serviceTime;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public double getAchievedRate() {
+        return sent / (Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0);
+    }
+
+    /**
+     * Percentile tables for both series, values in milliseconds
+     */
+    public String toPercentileTables() {
+        return String.format("Target rate: %.1f/s, achieved: %.1f/s, sent: %d, errors: %d%n%n",
+                targetRatePerSecond, getAchievedRate(), sent, errors)
+                + "=== Response time (from intended start) ===\n"
+                + HistogramLogWriter.percentileTable(responseTime)
+                + "\n=== Service time (from actual send) ===\n"
+                + HistogramLogWriter.percentileTable(serviceTime);
+    }
+
+    /**
+     * Write both series as tagged intervals of an HdrHistogram log, e.g. target/latency/get-by-id.hlog
+     */
+    public void writeHistogramLog(Path file) {
+        double lengthSeconds = elapsed.toNanos() / 1_000_000_000.0;
+        try (HistogramLogWriter writer = new HistogramLogWriter(file)) {
+            writer.writeHeader(startTimeMillis);
+            writer.writeComment(String.format("[Fixed-rate run at %.1f/s, values in microseconds]", targetRatePerSecond));
+            writer.writeInterval(RESPONSE_TIME_TAG, 0, lengthSeconds, responseTime);
+            writer.writeInterval(SERVICE_TIME_TAG, 0, lengthSeconds, serviceTime);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toPercentileTables();
+    }
+}
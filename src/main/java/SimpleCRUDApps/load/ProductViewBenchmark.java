@@ -0,0 +1,140 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.api.Json;
+import SimpleCRUDApps.api.JsonCodecs;
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductView;
+import io.restassured.path.json.JsonPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares the cost of asserting on a few fields of one product response (_id, name, price) when the body is
+ * read through RestAssured's JsonPath, Jackson databind into {@link Product}, the generated Product codec
+ * or a lazy {@link ProductView}
+ * Single-threaded and in-process, so the figures are decode cost only; allocation comes from the
+ * current thread's counter and reads 0 where the JVM does not support it
+ */
+public class ProductViewBenchmark {
+
+    private final byte[] payload;
+    private final int warmupIterations;
+    private final int iterations;
+
+    public ProductViewBenchmark(byte[] payload, int warmupIterations, int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("ProductViewBenchmark needs at least one iteration");
+        }
+        this.payload = payload;
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+    }
+
+    public List<Result> runAll() {
+        List<Result> results = new ArrayList<>();
+        results.add(run(Decoder.JSON_PATH));
+        results.add(run(Decoder.DATABIND));
+        results.add(run(Decoder.GENERATED_CODEC));
+        results.add(run(Decoder.PRODUCT_VIEW));
+        return results;
+    }
+
+    public Result run(Decoder decoder) {
+        long sink = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            sink += decoder.touch(payload);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += decoder.touch(payload);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new Result(decoder, iterations, elapsed, allocated, sink);
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean hotspot
+                && hotspot.isThreadAllocatedMemorySupported()) {
+            return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Each decoder reads _id, name and price, the fields a typical CRUD assertion touches
+     */
+    public enum Decoder {
+        JSON_PATH {
+            @Override
+            long touch(byte[] payload) {
+                JsonPath path = new JsonPath(new ByteArrayInputStream(payload));
+                return Objects.hashCode(path.getString("_id")) + Objects.hashCode(path.getString("name")) + path.getInt("price");
+            }
+        },
+        DATABIND {
+            @Override
+            long touch(byte[] payload) {
+                try {
+                    Product product = Json.MAPPER.readValue(payload, Product.class);
+                    return Objects.hashCode(product._id()) + Objects.hashCode(product.name()) + product.price();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to decode product", e);
+                }
+            }
+        },
+        GENERATED_CODEC {
+            @Override
+            long touch(byte[] payload) {
+                try {
+                    Product product = JsonCodecs.read(payload, Product.class);
+                    return Objects.hashCode(product._id()) + Objects.hashCode(product.name()) + product.price();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to decode product", e);
+                }
+            }
+        },
+        PRODUCT_VIEW {
+            @Override
+            long touch(byte[] payload) {
+                ProductView view = ProductView.of(payload);
+                return Objects.hashCode(view._id()) + Objects.hashCode(view.name()) + view.price();
+            }
+        };
+
+        abstract long touch(byte[] payload);
+    }
+
+    /**
+     * Outcome for one decoder; sink keeps the decoded values alive so the JIT cannot drop the work
+     */
+    public record Result(Decoder decoder, int iterations, long elapsedNanos, long allocatedBytes, long sink) {
+
+        public double getNanosPerOp() {
+            return (double) elapsedNanos / iterations;
+        }
+
+        public double getBytesPerOp() {
+            return (double) allocatedBytes / iterations;
+        }
+    }
+
+    /**
+     * Plain-text comparison table, suitable for the console and as an Allure attachment
+     */
+    public static String toTable(List<Result> results) {
+        StringBuilder sb = new StringBuilder(String.format("%-14s %10s %12s %12s%n", "Decoder", "Ops", "ns/op", "B/op"));
+        for (Result result : results) {
+            sb.append(String.format("%-14s %10d %12.1f %12.1f%n",
+                    result.decoder(), result.iterations(), result.getNanosPerOp(), result.getBytesPerOp()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,190 @@
+package SimpleCRUDApps.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Workload model for {@link ScenarioRunner}: a weighted operation mix, think time between operations and
+ * a sequence of load phases, each ramping the number of virtual users linearly to its target
+ * <pre>
+ * Scenario.named("read-heavy")
+ *         .operation(ScenarioOperation.GET_BY_ID, 70).operation(ScenarioOperation.LIST, 20)
+ *         .operation(ScenarioOperation.UPDATE, 8).operation(ScenarioOperation.CREATE_DELETE, 2)
+ *         .thinkTime(Duration.ofMillis(100), Duration.ofMillis(500))
+ *         .rampUp(Duration.ofSeconds(30), 20).steady(Duration.ofMinutes(2)).rampDown(Duration.ofSeconds(30))
+ *         .build();
+ * </pre>
+ */
+public class Scenario {
+
+    /**
+     * Users go linearly from fromUsers to toUsers over the phase
+     */
+    public record Phase(String name, Duration duration, int fromUsers, int toUsers) {
+
+        int usersAt(long nanosIntoPhase) {
+            double fraction = Math.min(1.0, (double) nanosIntoPhase / Math.max(1, duration.toNanos()));
+            return (int) Math.round(fromUsers + (toUsers - fromUsers) * fraction);
+        }
+    }
+
+    private final String name;
+    private final Map<ScenarioOperation, Integer> weights;
+    private final ScenarioOperation[] table;
+    private final Duration minThinkTime;
+    private final Duration maxThinkTime;
+    private final List<Phase> phases;
+    private final int seedProducts;
+
+    private Scenario(Builder builder) {
+        this.name = builder.name;
+        this.weights = new EnumMap<>(builder.weights);
+        this.minThinkTime = builder.minThinkTime;
+        this.maxThinkTime = builder.maxThinkTime;
+        this.phases = List.copyOf(builder.phases);
+        this.seedProducts = builder.seedProducts;
+
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.table = new ScenarioOperation[total];
+        int i = 0;
+        for (Map.Entry<ScenarioOperation, Integer> entry : weights.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                table[i++] = entry.getKey();
+            }
+        }
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * 70% GET by id, 20% list, 8% update, 2% create + delete: the read-heavy mix real clients produce
+     */
+    public static Builder readHeavy() {
+        return named("read-heavy")
+                .operation(ScenarioOperation.GET_BY_ID, 70)
+                .operation(ScenarioOperation.LIST, 20)
+                .operation(ScenarioOperation.UPDATE, 8)
+                .operation(ScenarioOperation.CREATE_DELETE, 2);
+    }
+
+    ScenarioOperation nextOperation() {
+        return table[ThreadLocalRandom.current().nextInt(table.length)];
+    }
+
+    long nextThinkTimeMillis() {
+        long min = minThinkTime.toMillis();
+        long max = maxThinkTime.toMillis();
+        return max > min ? ThreadLocalRandom.current().nextLong(min, max + 1) : min;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<ScenarioOperation, Integer> getWeights() {
+        return weights;
+    }
+
+    public List<Phase> getPhases() {
+        return phases;
+    }
+
+    public int getSeedProducts() {
+        return seedProducts;
+    }
+
+    public Duration getTotalDuration() {
+        return phases.stream().map(Phase::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public int getMaxUsers() {
+        return phases.stream().mapToInt(phase -> Math.max(phase.fromUsers(), phase.toUsers())).max().orElse(0);
+    }
+
+    public static class Builder {
+        private final String name;
+        private final Map<ScenarioOperation, Integer> weights = new EnumMap<>(ScenarioOperation.class);
+        private Duration minThinkTime = Duration.ZERO;
+        private Duration maxThinkTime = Duration.ZERO;
+        private final List<Phase> phases = new ArrayList<>();
+        private int users;
+        private int seedProducts = 20;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder operation(ScenarioOperation operation, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + operation + " must be >= 0");
+            }
+            weights.put(operation, weight);
+            return this;
+        }
+
+        public Builder thinkTime(Duration min, Duration max) {
+            this.minThinkTime = min;
+            this.maxThinkTime = max;
+            return this;
+        }
+
+        public Builder rampUp(Duration duration, int toUsers) {
+            return phase("ramp-up", duration, toUsers);
+        }
+
+        public Builder steady(Duration duration) {
+            return phase("steady", duration, users);
+        }
+
+        public Builder steady(Duration duration, int atUsers) {
+            phases.add(new Phase("steady", duration, atUsers, atUsers));
+            users = atUsers;
+            return this;
+        }
+
+        public Builder rampDown(Duration duration) {
+            return phase("ramp-down", duration, 0);
+        }
+
+        /**
+         * Generic phase from the previous phase's user count to toUsers
+         */
+        public Builder phase(String phaseName, Duration duration, int toUsers) {
+            phases.add(new Phase(phaseName, duration, users, toUsers));
+            users = toUsers;
+            return this;
+        }
+
+        /**
+         * Products created before the run (and deleted after it) for GET by id and update to work on
+         */
+        public Builder seedProducts(int count) {
+            this.seedProducts = count;
+            return this;
+        }
+
+        public Scenario build() {
+            if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+                throw new IllegalArgumentException("Scenario '" + name + "' needs at least one operation with a weight > 0");
+            }
+            if (phases.isEmpty()) {
+                throw new IllegalArgumentException("Scenario '" + name + "' needs at least one phase");
+            }
+            boolean needsSeeds = weights.getOrDefault(ScenarioOperation.GET_BY_ID, 0) > 0
+                    || weights.getOrDefault(ScenarioOperation.UPDATE, 0) > 0;
+            if (needsSeeds && seedProducts < 1) {
+                throw new IllegalArgumentException("GET by id and update need seedProducts >= 1");
+            }
+            if (minThinkTime.compareTo(maxThinkTime) > 0) {
+                throw new IllegalArgumentException("Minimum think time is larger than the maximum");
+            }
+            return new Scenario(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package SimpleCRUDApps.load;
+
+/**
+ * Operations a {@link Scenario} can mix; GET_BY_ID and UPDATE act on the scenario's seeded products
+ */
+public enum ScenarioOperation {
+    GET_BY_ID("GET by id"),
+    LIST("List"),
+    UPDATE("Update"),
+    CREATE_DELETE("Create + delete");
+
+    private final String label;
+
+    ScenarioOperation(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
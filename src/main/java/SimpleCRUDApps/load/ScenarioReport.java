@@ -0,0 +1,103 @@
+package SimpleCRUDApps.load;
+
+import utils.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link ScenarioRunner} run: per phase and operation throughput, error rate and latency (microseconds)
+ */
+public class ScenarioReport {
+
+    public record OperationResult(LatencyHistogram latency, long errors) {
+        public long calls() {
+            return latency.getTotalCount() + errors;
+        }
+    }
+
+    public record PhaseResult(Scenario.Phase phase, Map<ScenarioOperation, OperationResult> operations) {
+
+        public long calls() {
+            return operations.values().stream().mapToLong(OperationResult::calls).sum();
+        }
+
+        public long errors() {
+            return operations.values().stream().mapToLong(OperationResult::errors).sum();
+        }
+
+        public double throughput() {
+            return calls() / seconds(phase.duration());
+        }
+
+        public LatencyHistogram latency() {
+            LatencyHistogram merged = new LatencyHistogram();
+            operations.values().forEach(result -> merged.merge(result.latency()));
+            return merged;
+        }
+    }
+
+    private final String scenario;
+    private final Duration elapsed;
+    private final List<PhaseResult> phases;
+
+    ScenarioReport(String scenario, Duration elapsed, List<PhaseResult> phases) {
+        this.scenario = scenario;
+        this.elapsed = elapsed;
+        this.phases = List.copyOf(phases);
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public List<PhaseResult> getPhases() {
+        return phases;
+    }
+
+    public long getCalls() {
+        return phases.stream().mapToLong(PhaseResult::calls).sum();
+    }
+
+    /**
+     * Plain-text table, suitable for the console and as an Allure attachment
+     */
+    public String toTable() {
+        StringBuilder sb = new StringBuilder(String.format("Scenario '%s', elapsed %.1fs%n", scenario, seconds(elapsed)));
+        sb.append(String.format("%-12s %-16s %8s %9s %7s %9s %9s %9s %9s%n",
+                "Phase", "Operation", "Calls", "Ops/s", "Err%", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (PhaseResult phase : phases) {
+            String phaseLabel = String.format("%s %d->%d", phase.phase().name(), phase.phase().fromUsers(), phase.phase().toUsers());
+            for (Map.Entry<ScenarioOperation, OperationResult> entry : phase.operations().entrySet()) {
+                OperationResult result = entry.getValue();
+                if (result.calls() == 0) continue;
+                appendRow(sb, phaseLabel, entry.getKey().label(), result.calls(), result.errors(),
+                        result.calls() / seconds(phase.phase().duration()), result.latency());
+            }
+            appendRow(sb, phaseLabel, "All", phase.calls(), phase.errors(), phase.throughput(), phase.latency());
+        }
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String phase, String operation, long calls, long errors,
+                                  double throughput, LatencyHistogram h) {
+        sb.append(String.format("%-12s %-16s %8d %9.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f%n",
+                phase, operation, calls, throughput, calls == 0 ? 0 : 100.0 * errors / calls,
+                h.valueAtPercentile(50) / 1000.0, h.valueAtPercentile(90) / 1000.0,
+                h.valueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0));
+    }
+
+    private static double seconds(Duration duration) {
+        return Math.max(duration.toNanos(), 1) / 1_000_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return toTable();
+    }
+}
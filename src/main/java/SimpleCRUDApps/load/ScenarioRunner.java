@@ -0,0 +1,183 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.api.Service;
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.model.ProductRequest;
+import io.restassured.response.Response;
+import utils.LatencyRecorder;
+import utils.VirtualThreads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes a {@link Scenario} on {@link Service}: virtual users (virtual threads when available) pick operations
+ * by weight, pause for the think time, and are switched on and off to follow each phase's user ramp
+ * Every operation is recorded under the phase it started in
+ */
+public class ScenarioRunner {
+
+    private static final long IDLE_CHECK_NANOS = 50_000_000L;
+    private static final ProductPayload TEMP_PRODUCT = ProductPayload.of("Scenario Temp", 1, 1000);
+
+    private final Service service;
+
+    public ScenarioRunner(Service service) {
+        this.service = service;
+    }
+
+    public ScenarioReport run(Scenario scenario) {
+        List<String> seeds = seed(scenario.getSeedProducts());
+        try {
+            return execute(scenario, seeds);
+        } finally {
+            seeds.forEach(this::deleteQuietly);
+        }
+    }
+
+    private ScenarioReport execute(Scenario scenario, List<String> seeds) {
+        List<Scenario.Phase> phases = scenario.getPhases();
+        List<PhaseStats> stats = new ArrayList<>();
+        long[] phaseStarts = new long[phases.size() + 1];
+        long start = System.nanoTime();
+        long offset = start;
+        for (int i = 0; i < phases.size(); i++) {
+            stats.add(new PhaseStats());
+            phaseStarts[i] = offset;
+            offset += phases.get(i).duration().toNanos();
+        }
+        phaseStarts[phases.size()] = offset;
+        long end = offset;
+
+        ThreadFactory threadFactory = VirtualThreads.factory("scenario-user-");
+        List<Thread> users = new ArrayList<>();
+        for (int user = 0; user < scenario.getMaxUsers(); user++) {
+            final int index = user;
+            Thread thread = threadFactory.newThread(() -> userLoop(index, scenario, seeds, phases, phaseStarts, stats, end));
+            users.add(thread);
+            thread.start();
+        }
+        for (Thread thread : users) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                users.forEach(Thread::interrupt);
+                break;
+            }
+        }
+
+        List<ScenarioReport.PhaseResult> results = new ArrayList<>();
+        for (int i = 0; i < phases.size(); i++) {
+            results.add(stats.get(i).toResult(phases.get(i)));
+        }
+        return new ScenarioReport(scenario.getName(), Duration.ofNanos(System.nanoTime() - start), results);
+    }
+
+    private void userLoop(int index, Scenario scenario, List<String> seeds, List<Scenario.Phase> phases,
+                          long[] phaseStarts, List<PhaseStats> stats, long end) {
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            if (now >= end) return;
+            int phase = phaseAt(now, phaseStarts);
+            if (index >= phases.get(phase).usersAt(now - phaseStarts[phase])) {
+                LockSupport.parkNanos(Math.min(IDLE_CHECK_NANOS, end - now));
+                continue;
+            }
+            ScenarioOperation operation = scenario.nextOperation();
+            boolean ok;
+            try {
+                ok = perform(operation, seeds);
+            } catch (RuntimeException e) {
+                ok = false;
+            }
+            stats.get(phase).record(operation, (System.nanoTime() - now) / 1000, ok);
+            long think = scenario.nextThinkTimeMillis();
+            if (think > 0) {
+                LockSupport.parkNanos(think * 1_000_000L);
+            }
+        }
+    }
+
+    private static int phaseAt(long now, long[] phaseStarts) {
+        int phase = 0;
+        while (phase < phaseStarts.length - 2 && now >= phaseStarts[phase + 1]) {
+            phase++;
+        }
+        return phase;
+    }
+
+    private boolean perform(ScenarioOperation operation, List<String> seeds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case GET_BY_ID -> service.getProductById(seeds.get(random.nextInt(seeds.size()))).getStatusCode() == 200;
+            case LIST -> service.getAllProducts().getStatusCode() == 200;
+            case UPDATE -> service.updateProduct(seeds.get(random.nextInt(seeds.size())), ProductRequest.builder()
+                    .name("Scenario Product").price(1000 + random.nextInt(9000)).quantity(random.nextInt(100)).build())
+                    .getStatusCode() == 200;
+            case CREATE_DELETE -> {
+                Response created = service.createProduct(TEMP_PRODUCT);
+                String id = created.getStatusCode() == 200 ? created.jsonPath().getString("_id") : null;
+                yield id != null && service.deleteProduct(id).getStatusCode() == 200;
+            }
+        };
+    }
+
+    private List<String> seed(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Response created = service.createProduct(ProductRequest.builder()
+                    .name("Scenario Product " + i).price(1000 * (i + 1)).quantity(10).build());
+            if (created.getStatusCode() != 200) {
+                ids.forEach(this::deleteQuietly);
+                throw new IllegalStateException("Failed to seed scenario products: HTTP " + created.getStatusCode());
+            }
+            ids.add(created.jsonPath().getString("_id"));
+        }
+        return ids;
+    }
+
+    private void deleteQuietly(String productId) {
+        try {
+            service.deleteProduct(productId);
+        } catch (RuntimeException ignored) {
+            // left for the end-of-run orphan sweep
+        }
+    }
+
+    private static class PhaseStats {
+        private final Map<ScenarioOperation, LatencyRecorder> latencies = new EnumMap<>(ScenarioOperation.class);
+        private final Map<ScenarioOperation, LongAdder> errors = new EnumMap<>(ScenarioOperation.class);
+
+        PhaseStats() {
+            for (ScenarioOperation operation : ScenarioOperation.values()) {
+                latencies.put(operation, new LatencyRecorder());
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        void record(ScenarioOperation operation, long latencyMicros, boolean ok) {
+            if (ok) {
+                latencies.get(operation).record(latencyMicros);
+            } else {
+                errors.get(operation).increment();
+            }
+        }
+
+        ScenarioReport.PhaseResult toResult(Scenario.Phase phase) {
+            Map<ScenarioOperation, ScenarioReport.OperationResult> operations = new EnumMap<>(ScenarioOperation.class);
+            for (ScenarioOperation operation : ScenarioOperation.values()) {
+                operations.put(operation, new ScenarioReport.OperationResult(
+                        latencies.get(operation).snapshot(), errors.get(operation).sum()));
+            }
+            return new ScenarioReport.PhaseResult(phase, operations);
+        }
+    }
+}
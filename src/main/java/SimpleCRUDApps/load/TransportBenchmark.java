@@ -0,0 +1,205 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.api.ProductTransport;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductResponse;
+import utils.LatencyHistogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs the same create -> get -> update -> delete workload through each {@link ProductTransport}
+ * and compares throughput, allocation and per-call latency
+ * Workers are platform threads so allocation can be read from the JVM's per-thread counters; the figure covers
+ * every thread alive at the end of the run (workers and the HTTP stack's own threads)
+ * Meant for a local backend such as the product stub, so the network does not hide the client's cost
+ */
+public class TransportBenchmark {
+
+    private final List<CrudRow> rows;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public TransportBenchmark(List<CrudRow> rows, int concurrency, Duration warmup, Duration duration) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("TransportBenchmark needs at least one CrudRow");
+        }
+        this.rows = rows;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    public List<Result> runAll(List<? extends ProductTransport> transports) {
+        List<Result> results = new ArrayList<>();
+        for (ProductTransport transport : transports) {
+            results.add(run(transport));
+        }
+        return results;
+    }
+
+    public Result run(ProductTransport transport) {
+        if (!warmup.isZero()) {
+            measure(transport, warmup);
+        }
+        return measure(transport, duration);
+    }
+
+    private Result measure(ProductTransport transport, Duration length) {
+        Map<Long, Long> allocatedBefore = allocatedBytesByThread();
+        long start = System.nanoTime();
+        long deadline = start + length.toNanos();
+        AtomicLong nextRow = new AtomicLong();
+
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(transport);
+            workers.add(worker);
+            Thread thread = new Thread(() -> worker.loop(deadline, nextRow), "transport-bench-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                threads.forEach(Thread::interrupt);
+                break;
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        long allocated = allocatedSince(allocatedBefore);
+
+        LatencyHistogram latency = new LatencyHistogram();
+        long errors = 0;
+        for (Worker worker : workers) {
+            latency.merge(worker.latency);
+            errors += worker.errors;
+        }
+        return new Result(transport.name(), elapsed, latency, errors, allocated);
+    }
+
+    private static Map<Long, Long> allocatedBytesByThread() {
+        Map<Long, Long> allocated = new HashMap<>();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()) {
+            long[] ids = threads.getAllThreadIds();
+            long[] bytes = hotspot.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] >= 0) allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    // Threads that died during the run are not counted, workers are joined after this is read
+    private static long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : allocatedBytesByThread().entrySet()) {
+            total += Math.max(0, entry.getValue() - before.getOrDefault(entry.getKey(), 0L));
+        }
+        return total;
+    }
+
+    /**
+     * Per-thread state, only merged after the worker thread has been joined
+     */
+    private class Worker {
+        private final ProductTransport transport;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private long errors;
+
+        Worker(ProductTransport transport) {
+            this.transport = transport;
+        }
+
+        void loop(long deadline, AtomicLong nextRow) {
+            while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadline) {
+                CrudRow row = rows.get((int) (nextRow.getAndIncrement() % rows.size()));
+                ProductId id = null;
+                try {
+                    ProductResponse created = timed(() -> transport.createProduct(row.create()));
+                    id = created.getProductId();
+                    String productId = id.toHexString();
+                    timed(() -> transport.getProductById(productId));
+                    if (row.update() != null) {
+                        timed(() -> transport.updateProduct(productId, row.update()));
+                    }
+                    timed(() -> transport.deleteProduct(productId));
+                    id = null;
+                } catch (RuntimeException e) {
+                    errors++;
+                    if (id != null) {
+                        try {
+                            transport.deleteProduct(id.toHexString());
+                        } catch (RuntimeException ignored) {
+                            // leaked on the benchmark backend
+                        }
+                    }
+                }
+            }
+        }
+
+        private ProductResponse timed(Supplier<ProductResponse> call) {
+            long t0 = System.nanoTime();
+            ProductResponse response = call.get();
+            latency.record((System.nanoTime() - t0) / 1000);
+            return response;
+        }
+    }
+
+    /**
+     * Outcome for one transport, latency in microseconds per call
+     */
+    public record Result(String transport, Duration elapsed, LatencyHistogram latency, long errors, long allocatedBytes) {
+
+        public long getCalls() {
+            return latency.getTotalCount();
+        }
+
+        public double getThroughput() {
+            return getCalls() / seconds();
+        }
+
+        public double getAllocationRateMbPerSecond() {
+            return allocatedBytes / seconds() / (1024 * 1024);
+        }
+
+        public double getAllocatedBytesPerCall() {
+            return getCalls() == 0 ? 0 : (double) allocatedBytes / getCalls();
+        }
+
+        private double seconds() {
+            return Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+        }
+    }
+
+    /**
+     * Plain-text comparison table, suitable for the console and as an Allure attachment
+     */
+    public static String toTable(List<Result> results) {
+        StringBuilder sb = new StringBuilder(String.format("%-16s %8s %10s %7s %10s %10s %9s %9s %9s %9s%n",
+                "Transport", "Calls", "Calls/s", "Errors", "Alloc MB/s", "KB/call", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Result result : results) {
+            LatencyHistogram h = result.latency();
+            sb.append(String.format("%-16s %8d %10.1f %7d %10.1f %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.transport(), result.getCalls(), result.getThroughput(), result.errors(),
+                    result.getAllocationRateMbPerSecond(), result.getAllocatedBytesPerCall() / 1024,
+                    h.valueAtPercentile(50) / 1000.0, h.valueAtPercentile(90) / 1000.0,
+                    h.valueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0));
+        }
+        return sb.toString();
+    }
+}
@@ -1,7 +1,9 @@
 package SimpleCRUDApps.model;
 
+import SimpleCRUDApps.codegen.GenerateJsonCodec;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+@GenerateJsonCodec
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record Product(
         String _id,
@@ -17,4 +19,11 @@ public record Product(
     public Product(String name, Integer quantity, Integer price) {
         this(null, name, quantity, price, null, null, null, null);
     }
+
+    /**
+     * _id as a compact {@link ProductId}, null when it is missing or not a 24-character hex ObjectId
+     */
+    public ProductId productId() {
+        return ProductId.tryParse(_id);
+    }
 }
\ No newline at end of file
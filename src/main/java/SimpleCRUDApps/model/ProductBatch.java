@@ -0,0 +1,353 @@
+package SimpleCRUDApps.model;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, primitive-backed copy of a product listing, for auditing the whole dataset inside a test
+ * One row per product: packed {@link ProductId} (int + long), an index into the deduplicated names,
+ * int quantity/price/__v and epoch-millis createdAt/updatedAt; image is not kept
+ * Missing numbers read as 0 and missing or unparseable timestamps as {@link #NO_TIMESTAMP}; a row whose _id is missing
+ * or not an ObjectId is kept but has no id ({@link #id(int)} is null, {@link #indexOf} never finds it), see {@link #rowsWithoutId()}
+ * Aggregates are plain loops over int[] so the JIT can vectorize them
+ * Filled by {@link SimpleCRUDApps.api.ProductJsonStream#readBatch}; appending is not thread-safe, reading a filled batch is
+ */
+public final class ProductBatch {
+
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+    private int[] idTimestamps;
+    private long[] idTails;
+    private int[] nameRefs;
+    private int[] quantities;
+    private int[] prices;
+    private int[] versions;
+    private long[] createdAt;
+    private long[] updatedAt;
+    private final BitSet withoutId = new BitSet();
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    // Open-addressing row index by id, built on the first lookup and dropped on append
+    private int[] idSlots;
+
+    public ProductBatch() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public ProductBatch(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        idTimestamps = new int[capacity];
+        idTails = new long[capacity];
+        nameRefs = new int[capacity];
+        quantities = new int[capacity];
+        prices = new int[capacity];
+        versions = new int[capacity];
+        createdAt = new long[capacity];
+        updatedAt = new long[capacity];
+    }
+
+    /**
+     * Append one row
+     * @param id null when the product has no ObjectId _id
+     * @param createdAtMillis epoch millis or {@link #NO_TIMESTAMP}
+     * @return the new row's index
+     */
+    public int add(ProductId id, String name, int quantity, int price, int version, long createdAtMillis, long updatedAtMillis) {
+        if (size == prices.length) {
+            grow();
+        }
+        int row = size++;
+        if (id != null) {
+            idTimestamps[row] = id.timestampBits();
+            idTails[row] = id.tailBits();
+        } else {
+            withoutId.set(row);
+        }
+        nameRefs[row] = internName(name);
+        quantities[row] = quantity;
+        prices[row] = price;
+        versions[row] = version;
+        createdAt[row] = createdAtMillis;
+        updatedAt[row] = updatedAtMillis;
+        idSlots = null;
+        return row;
+    }
+
+    public int add(Product product) {
+        return add(product.productId(), product.name(),
+                product.quantity() != null ? product.quantity() : 0,
+                product.price() != null ? product.price() : 0,
+                product.__v() != null ? product.__v() : 0,
+                parseTimestamp(product.createdAt()),
+                parseTimestamp(product.updatedAt()));
+    }
+
+    /**
+     * ISO-8601 instant as sent by the backend (e.g. 2024-05-01T10:15:30.123Z) to epoch millis
+     */
+    public static long parseTimestamp(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return NO_TIMESTAMP;
+        }
+        try {
+            return Instant.parse(text).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int distinctNames() {
+        return names.size();
+    }
+
+    /**
+     * @return the row's id, null when its _id was missing or not an ObjectId
+     */
+    public ProductId id(int row) {
+        checkRow(row);
+        return withoutId.get(row) ? null : ProductId.of(idTimestamps[row], idTails[row]);
+    }
+
+    /**
+     * Rows whose _id was missing or not an ObjectId; a listing from the backend should have none
+     */
+    public int rowsWithoutId() {
+        return withoutId.cardinality();
+    }
+
+    public String name(int row) {
+        checkRow(row);
+        return names.get(nameRefs[row]);
+    }
+
+    public int quantity(int row) {
+        checkRow(row);
+        return quantities[row];
+    }
+
+    public int price(int row) {
+        checkRow(row);
+        return prices[row];
+    }
+
+    public int version(int row) {
+        checkRow(row);
+        return versions[row];
+    }
+
+    public long createdAtMillis(int row) {
+        checkRow(row);
+        return createdAt[row];
+    }
+
+    public long updatedAtMillis(int row) {
+        checkRow(row);
+        return updatedAt[row];
+    }
+
+    /**
+     * Materialize one row as a record, timestamps re-rendered with {@link Instant#toString()}
+     */
+    public Product get(int row) {
+        checkRow(row);
+        ProductId id = id(row);
+        return new Product(id != null ? id.toHexString() : null, name(row), quantities[row], prices[row], null,
+                formatTimestamp(createdAt[row]), formatTimestamp(updatedAt[row]), versions[row]);
+    }
+
+    public long sumPrice() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += prices[i];
+        }
+        return sum;
+    }
+
+    public long sumQuantity() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += quantities[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of price * quantity over all rows
+     */
+    public long inventoryValue() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += (long) prices[i] * quantities[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @throws IllegalStateException when the batch is empty
+     */
+    public int minPrice() {
+        requireRows();
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, prices[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @throws IllegalStateException when the batch is empty
+     */
+    public int maxPrice() {
+        requireRows();
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, prices[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Rows priced in [minInclusive, maxInclusive], in row order
+     */
+    public int[] filterByPrice(int minInclusive, int maxInclusive) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int price = prices[i];
+            if (price >= minInclusive && price <= maxInclusive) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Rows whose name starts with the prefix, in row order
+     * Each distinct name is tested once, then rows are matched by name index
+     */
+    public int[] filterByNamePrefix(String prefix) {
+        boolean[] matching = new boolean[names.size()];
+        for (int i = 0; i < matching.length; i++) {
+            String name = names.get(i);
+            matching[i] = name != null && name.startsWith(prefix);
+        }
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (matching[nameRefs[i]]) {
+                rows[count++] = i;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * @return row of the product with this id, or -1
+     */
+    public int indexOf(ProductId id) {
+        if (id == null || size == 0) {
+            return -1;
+        }
+        int[] slots = idSlots;
+        if (slots == null) {
+            slots = buildIdIndex();
+        }
+        int timestamp = id.timestampBits();
+        long tail = id.tailBits();
+        int mask = slots.length - 1;
+        for (int slot = id.hashCode() & mask; ; slot = (slot + 1) & mask) {
+            int row = slots[slot] - 1;
+            if (row < 0) {
+                return -1;
+            }
+            if (idTimestamps[row] == timestamp && idTails[row] == tail) {
+                return row;
+            }
+        }
+    }
+
+    public boolean contains(ProductId id) {
+        return indexOf(id) >= 0;
+    }
+
+    private int[] buildIdIndex() {
+        int capacity = Integer.highestOneBit(Math.max(size * 2, 2) - 1) << 1;
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int row = 0; row < size; row++) {
+            if (withoutId.get(row)) {
+                continue;
+            }
+            int slot = ProductId.of(idTimestamps[row], idTails[row]).hashCode() & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            // Stored as row + 1 so that 0 marks an empty slot
+            slots[slot] = row + 1;
+        }
+        idSlots = slots;
+        return slots;
+    }
+
+    private int internName(String name) {
+        Integer ref = nameIndex.get(name);
+        if (ref == null) {
+            ref = names.size();
+            names.add(name);
+            nameIndex.put(name, ref);
+        }
+        return ref;
+    }
+
+    private void grow() {
+        int capacity = prices.length * 2;
+        idTimestamps = Arrays.copyOf(idTimestamps, capacity);
+        idTails = Arrays.copyOf(idTails, capacity);
+        nameRefs = Arrays.copyOf(nameRefs, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " products");
+        }
+    }
+
+    private void requireRows() {
+        if (size == 0) {
+            throw new IllegalStateException("No products in batch");
+        }
+    }
+
+    private static String formatTimestamp(long millis) {
+        return millis == NO_TIMESTAMP ? null : Instant.ofEpochMilli(millis).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ProductBatch{size=" + size + ", distinctNames=" + names.size() + "}";
+    }
+}
@@ -0,0 +1,231 @@
+package SimpleCRUDApps.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * 12-byte MongoDB ObjectId of a product, held as two primitives instead of a 24-character String
+ * Layout: 4-byte epoch seconds (the creation time), 5 process-unique bytes, 3-byte counter
+ * Parsing and the JSON (de)serializers work on char ranges and do not allocate; the text form is lowercase hex
+ */
+@JsonSerialize(using = ProductId.Serializer.class)
+@JsonDeserialize(using = ProductId.Deserializer.class)
+public final class ProductId implements Comparable<ProductId> {
+
+    public static final int HEX_LENGTH = 24;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[HEX_LENGTH]);
+
+    private final int timestamp;
+    private final long tail;
+
+    private ProductId(int timestamp, long tail) {
+        this.timestamp = timestamp;
+        this.tail = tail;
+    }
+
+    /**
+     * @param timestamp epoch seconds, the first 4 bytes
+     * @param tail the remaining 8 bytes (5 process-unique bytes, 3-byte counter), big-endian
+     */
+    public static ProductId of(int timestamp, long tail) {
+        return new ProductId(timestamp, tail);
+    }
+
+    /**
+     * @throws IllegalArgumentException unless the text is 24 hex characters
+     */
+    public static ProductId parse(CharSequence hex) {
+        ProductId id = tryParse(hex);
+        if (id == null) {
+            throw new IllegalArgumentException("Not a 24-character hex product id: " + hex);
+        }
+        return id;
+    }
+
+    /**
+     * @return the id, or null when the text is not 24 ASCII hex characters
+     */
+    public static ProductId tryParse(CharSequence hex) {
+        return hex == null || hex.length() != HEX_LENGTH ? null : parseHex(hex, 0);
+    }
+
+    /**
+     * Parse from a char range, e.g. a JSON parser's text buffer
+     */
+    public static ProductId tryParse(char[] chars, int offset, int length) {
+        return length != HEX_LENGTH ? null : parseHex(chars, offset);
+    }
+
+    /**
+     * Parse from an ASCII byte range, e.g. raw JSON bytes
+     */
+    public static ProductId tryParse(byte[] ascii, int offset, int length) {
+        return length != HEX_LENGTH ? null : parseHex(ascii, offset);
+    }
+
+    public static boolean isValid(CharSequence hex) {
+        return tryParse(hex) != null;
+    }
+
+    // source is a CharSequence, char[] or byte[] holding HEX_LENGTH characters from offset
+    private static ProductId parseHex(Object source, int offset) {
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < HEX_LENGTH; i++) {
+            int digit = hexValue(charAt(source, offset + i));
+            if (digit < 0) return null;
+            if (i < 8) {
+                high = high << 4 | digit;
+            } else {
+                low = low << 4 | digit;
+            }
+        }
+        return new ProductId((int) high, low);
+    }
+
+    private static int charAt(Object source, int index) {
+        if (source instanceof byte[] bytes) return bytes[index];
+        if (source instanceof char[] chars) return chars[index];
+        return ((CharSequence) source).charAt(index);
+    }
+
+    // ASCII only: Character.digit would also take Unicode digits and fullwidth letters, which Mongo rejects
+    private static int hexValue(int c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    /**
+     * Creation time embedded in the id, second precision
+     */
+    public Instant getTimestamp() {
+        return Instant.ofEpochSecond(getEpochSeconds());
+    }
+
+    public long getEpochSeconds() {
+        return timestamp & 0xFFFFFFFFL;
+    }
+
+    public int timestampBits() {
+        return timestamp;
+    }
+
+    public long tailBits() {
+        return tail;
+    }
+
+    /**
+     * Write the 24 lowercase hex characters into dst starting at offset
+     */
+    public void writeHex(char[] dst, int offset) {
+        for (int i = 7; i >= 0; i--) {
+            dst[offset + i] = HEX[(timestamp >>> ((7 - i) * 4)) & 0xF];
+        }
+        for (int i = 15; i >= 0; i--) {
+            dst[offset + 8 + i] = HEX[(int) (tail >>> ((15 - i) * 4)) & 0xF];
+        }
+    }
+
+    public StringBuilder appendTo(StringBuilder sb) {
+        char[] buffer = BUFFER.get();
+        writeHex(buffer, 0);
+        return sb.append(buffer, 0, HEX_LENGTH);
+    }
+
+    public String toHexString() {
+        char[] chars = new char[HEX_LENGTH];
+        writeHex(chars, 0);
+        return new String(chars);
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[12];
+        for (int i = 0; i < 4; i++) {
+            bytes[i] = (byte) (timestamp >>> (24 - i * 8));
+        }
+        for (int i = 0; i < 8; i++) {
+            bytes[4 + i] = (byte) (tail >>> (56 - i * 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * Read from the parser's current VALUE_STRING token without creating a String
+     * @throws JsonParseException when the token is not a 24-character hex string
+     */
+    public static ProductId read(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(p, "Expected a product id string but got " + p.currentToken());
+        }
+        ProductId id = tryParse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        if (id == null) {
+            throw new JsonParseException(p, "Not a 24-character hex product id: " + p.getText());
+        }
+        return id;
+    }
+
+    public void write(JsonGenerator gen) throws IOException {
+        char[] buffer = BUFFER.get();
+        writeHex(buffer, 0);
+        gen.writeString(buffer, 0, HEX_LENGTH);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ProductId other && timestamp == other.timestamp && tail == other.tail;
+    }
+
+    @Override
+    public int hashCode() {
+        // Counter and timestamp change fastest, mix them so sequential ids spread across buckets
+        long h = tail * 0x9E3779B97F4A7C15L ^ timestamp;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public int compareTo(ProductId other) {
+        int byTime = Integer.compareUnsigned(timestamp, other.timestamp);
+        return byTime != 0 ? byTime : Long.compareUnsigned(tail, other.tail);
+    }
+
+    @Override
+    public String toString() {
+        return toHexString();
+    }
+
+    public static class Serializer extends JsonSerializer<ProductId> {
+        @Override
+        public void serialize(ProductId id, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            id.write(gen);
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<ProductId> {
+        @Override
+        public ProductId deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return (ProductId) ctxt.handleUnexpectedToken(ProductId.class, p);
+            }
+            ProductId id = tryParse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            if (id == null) {
+                return (ProductId) ctxt.handleWeirdStringValue(ProductId.class, p.getText(), "not a 24-character hex id");
+            }
+            return id;
+        }
+    }
+}
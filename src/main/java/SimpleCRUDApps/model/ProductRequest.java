@@ -1,11 +1,13 @@
 package SimpleCRUDApps.model;
 
+import SimpleCRUDApps.codegen.GenerateJsonCodec;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@GenerateJsonCodec
 @Data
 @Builder
 @NoArgsConstructor
@@ -1,13 +1,16 @@
 package SimpleCRUDApps.model;
 
+import SimpleCRUDApps.codegen.GenerateJsonCodec;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+@GenerateJsonCodec
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductResponse {
@@ -26,4 +29,12 @@ public class ProductResponse {
     // Delete Product
     private String message;
 
+    /**
+     * id as a compact {@link ProductId}, null when it is missing or not a 24-character hex ObjectId
+     */
+    @JsonIgnore
+    public ProductId getProductId() {
+        return ProductId.tryParse(id);
+    }
+
 }
\ No newline at end of file
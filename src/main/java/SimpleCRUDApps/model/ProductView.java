@@ -0,0 +1,318 @@
+package SimpleCRUDApps.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lazy, read-only view of one product over the raw JSON bytes of a response
+ * Construction scans the top-level object once and records where each known field's value sits;
+ * a field is only decoded when its accessor is called, and then kept
+ * Accessors mirror {@link Product}, so an assertion can switch between the two; {@link #toProduct()} materializes
+ * The bytes are not copied, callers must not modify them while the view is in use; not thread-safe
+ */
+public final class ProductView {
+
+    private static final String[] FIELDS = {"_id", "name", "quantity", "price", "image", "createdAt", "updatedAt", "__v"};
+    private static final byte[][] FIELD_BYTES = new byte[FIELDS.length][];
+    private static final int ID = 0, NAME = 1, QUANTITY = 2, PRICE = 3, IMAGE = 4, CREATED_AT = 5, UPDATED_AT = 6, VERSION = 7;
+
+    static {
+        for (int i = 0; i < FIELDS.length; i++) {
+            FIELD_BYTES[i] = FIELDS[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final byte[] json;
+    // Value range per field, start is -1 when the field is absent
+    private final int[] starts = new int[FIELDS.length];
+    private final int[] ends = new int[FIELDS.length];
+    private final Object[] decoded = new Object[FIELDS.length];
+    private int decodedMask;
+
+    private ProductView(byte[] json) {
+        this.json = json;
+        Arrays.fill(starts, -1);
+        index();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the bytes are not a JSON object
+     */
+    public static ProductView of(byte[] json) {
+        return new ProductView(json);
+    }
+
+    public String _id() {
+        return string(ID);
+    }
+
+    /**
+     * _id parsed straight from the bytes, without decoding it to a String first; null when it is not an ObjectId
+     */
+    public ProductId productId() {
+        int start = starts[ID];
+        return start >= 0 && json[start] == '"' ? ProductId.tryParse(json, start + 1, ends[ID] - start - 2) : null;
+    }
+
+    public String name() {
+        return string(NAME);
+    }
+
+    public Integer quantity() {
+        return integer(QUANTITY);
+    }
+
+    public Integer price() {
+        return integer(PRICE);
+    }
+
+    public String image() {
+        return string(IMAGE);
+    }
+
+    public String createdAt() {
+        return string(CREATED_AT);
+    }
+
+    public String updatedAt() {
+        return string(UPDATED_AT);
+    }
+
+    public Integer __v() {
+        return integer(VERSION);
+    }
+
+    /**
+     * True when the field is present in the JSON, even as null
+     */
+    public boolean has(String field) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(field)) {
+                return starts[i] >= 0;
+            }
+        }
+        return false;
+    }
+
+    public Product toProduct() {
+        return new Product(_id(), name(), quantity(), price(), image(), createdAt(), updatedAt(), __v());
+    }
+
+    @Override
+    public String toString() {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+
+    private boolean isDecoded(int field) {
+        return (decodedMask & (1 << field)) != 0;
+    }
+
+    private void store(int field, Object value) {
+        decoded[field] = value;
+        decodedMask |= 1 << field;
+    }
+
+    private String string(int field) {
+        if (!isDecoded(field)) {
+            int start = starts[field];
+            String value = null;
+            if (start >= 0 && json[start] == '"') {
+                value = decodeString(start + 1, ends[field] - 1);
+            } else if (start >= 0 && !isNull(start)) {
+                value = new String(json, start, ends[field] - start, StandardCharsets.UTF_8);
+            }
+            store(field, value);
+        }
+        return (String) decoded[field];
+    }
+
+    private Integer integer(int field) {
+        if (!isDecoded(field)) {
+            int start = starts[field];
+            Integer value = null;
+            if (start >= 0 && !isNull(start)) {
+                value = decodeInt(start, ends[field]);
+            }
+            store(field, value);
+        }
+        return (Integer) decoded[field];
+    }
+
+    private boolean isNull(int start) {
+        return json[start] == 'n';
+    }
+
+    // Digits only on the fast path; decimals, exponents and quoted numbers truncate like Jackson's int coercion
+    private Integer decodeInt(int start, int end) {
+        boolean negative = json[start] == '-';
+        long value = 0;
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw new IllegalArgumentException("Not a number at offset " + start);
+        }
+        for (; i < end; i++) {
+            int digit = json[i] - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+                String text = new String(json, start, end - start, StandardCharsets.US_ASCII).replace("\"", "");
+                return (int) Double.parseDouble(text);
+            }
+            value = value * 10 + digit;
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    // start/end exclude the quotes; escapes are rare in product fields so the plain case is one String copy
+    private String decodeString(int start, int end) {
+        int escape = -1;
+        for (int i = start; i < end; i++) {
+            if (json[i] == '\\') {
+                escape = i;
+                break;
+            }
+        }
+        if (escape < 0) {
+            return new String(json, start, end - start, StandardCharsets.UTF_8);
+        }
+        StringBuilder sb = new StringBuilder(end - start);
+        int runStart = start;
+        int i = escape;
+        while (i < end) {
+            if (json[i] != '\\') {
+                i++;
+                continue;
+            }
+            sb.append(new String(json, runStart, i - runStart, StandardCharsets.UTF_8));
+            char c = (char) json[i + 1];
+            switch (c) {
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    sb.append((char) Integer.parseInt(new String(json, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                    i += 4;
+                }
+                default -> sb.append(c);
+            }
+            i += 2;
+            runStart = i;
+        }
+        sb.append(new String(json, runStart, end - runStart, StandardCharsets.UTF_8));
+        return sb.toString();
+    }
+
+    private void index() {
+        int i = skipWhitespace(0);
+        if (i >= json.length || json[i] != '{') {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        i = skipWhitespace(i + 1);
+        if (i < json.length && json[i] == '}') {
+            return;
+        }
+        while (true) {
+            if (i >= json.length || json[i] != '"') {
+                throw malformed(i);
+            }
+            int keyStart = i + 1;
+            int keyEnd = skipString(i) - 1;
+            i = skipWhitespace(keyEnd + 1);
+            if (i >= json.length || json[i] != ':') {
+                throw malformed(i);
+            }
+            int valueStart = skipWhitespace(i + 1);
+            int valueEnd = skipValue(valueStart);
+            int field = fieldIndex(keyStart, keyEnd);
+            if (field >= 0) {
+                starts[field] = valueStart;
+                ends[field] = valueEnd;
+            }
+            i = skipWhitespace(valueEnd);
+            if (i < json.length && json[i] == ',') {
+                i = skipWhitespace(i + 1);
+            } else if (i < json.length && json[i] == '}') {
+                return;
+            } else {
+                throw malformed(i);
+            }
+        }
+    }
+
+    private int fieldIndex(int keyStart, int keyEnd) {
+        int length = keyEnd - keyStart;
+        for (int f = 0; f < FIELD_BYTES.length; f++) {
+            byte[] name = FIELD_BYTES[f];
+            if (name.length == length && Arrays.equals(json, keyStart, keyEnd, name, 0, length)) {
+                return f;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the index just past the value
+    private int skipValue(int i) {
+        if (i >= json.length) {
+            throw malformed(i);
+        }
+        byte b = json[i];
+        if (b == '"') {
+            return skipString(i);
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (i < json.length) {
+                byte c = json[i];
+                if (c == '"') {
+                    i = skipString(i);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (--depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            throw malformed(i);
+        }
+        int start = i;
+        while (i < json.length && json[i] != ',' && json[i] != '}' && json[i] != ']' && !isWhitespace(json[i])) {
+            i++;
+        }
+        if (i == start) {
+            throw malformed(i);
+        }
+        return i;
+    }
+
+    // i is on the opening quote, returns the index just past the closing quote
+    private int skipString(int i) {
+        for (int j = i + 1; j < json.length; j++) {
+            byte b = json[j];
+            if (b == '\\') {
+                j++;
+            } else if (b == '"') {
+                return j + 1;
+            }
+        }
+        throw malformed(i);
+    }
+
+    private int skipWhitespace(int i) {
+        while (i < json.length && isWhitespace(json[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static IllegalArgumentException malformed(int offset) {
+        return new IllegalArgumentException("Malformed product JSON at offset " + offset);
+    }
+}
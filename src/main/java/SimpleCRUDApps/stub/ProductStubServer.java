@@ -0,0 +1,273 @@
+package SimpleCRUDApps.stub;
+
+import SimpleCRUDApps.api.HttpCompression;
+import SimpleCRUDApps.api.Json;
+import SimpleCRUDApps.api.baseEndPoint;
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Builder;
+import utils.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * In-process stand-in for the simple-crud-apps /api/products backend
+ * Implements the same contract as the deployed service: Mongo-style 24-hex _id, __v, createdAt/updatedAt,
+ * 200 + "Product not found" for a missing GET, 404 for a missing PUT/DELETE and 500 for a malformed ID
+ * The product list carries a weak ETag like Express does and answers a matching If-None-Match with 304
+ * Bodies of 1 KB or more are gzip-compressed for clients that accept it, gzip request bodies are inflated
+ * Products live in a concurrent in-memory map; latency and error rate can be injected per request
+ */
+public class ProductStubServer implements AutoCloseable {
+
+    public static final String NOT_FOUND_MESSAGE = "Product not found";
+    public static final String DELETED_MESSAGE = "Product deleted successfully";
+    public static final String INJECTED_FAILURE_MESSAGE = "Injected failure";
+
+    private static final ObjectMapper WRITER = Json.MAPPER.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static final String API_PATH = baseEndPoint.productService;
+    private static final int COMPRESSION_THRESHOLD_BYTES = 1024;
+
+    private final int port;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double errorRate;
+
+    private final Map<ProductId, Product> store = new ConcurrentHashMap<>();
+    private final LongAdder requestsServed = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final ObjectIdGenerator ids = new ObjectIdGenerator();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port 0 picks a free port
+     * @param latencyMillis fixed delay added to every request
+     * @param latencyJitterMillis extra uniformly random delay in [0, jitter)
+     * @param errorRate probability (0..1) of answering 500 instead of serving the request
+     */
+    @Builder
+    public ProductStubServer(int port, long latencyMillis, long latencyJitterMillis, double errorRate) {
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRate = errorRate;
+    }
+
+    public synchronized ProductStubServer start() {
+        if (server != null) return this;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start product stub on port " + port, e);
+        }
+        executor = Executors.newCachedThreadPool(VirtualThreads.factory("product-stub-"));
+        server.setExecutor(executor);
+        server.createContext(API_PATH, this::handle);
+        server.start();
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int getProductCount() {
+        return store.size();
+    }
+
+    public long getRequestsServed() {
+        return requestsServed.sum();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    public void reset() {
+        store.clear();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestsServed.increment();
+        try {
+            injectLatency();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.increment();
+                respond(exchange, 500, Map.of("message", INJECTED_FAILURE_MESSAGE));
+                return;
+            }
+            String rest = exchange.getRequestURI().getPath().substring(API_PATH.length());
+            String idText = rest.startsWith("/") ? rest.substring(1) : rest;
+            String method = exchange.getRequestMethod();
+
+            if (idText.isEmpty()) {
+                switch (method) {
+                    case "GET" -> respondWithETag(exchange, new ArrayList<>(store.values()));
+                    case "POST" -> create(exchange);
+                    default -> respond(exchange, 404, Map.of("message", "Cannot " + method + " " + API_PATH));
+                }
+                return;
+            }
+            ProductId id = ProductId.tryParse(idText);
+            if (id == null) {
+                respond(exchange, 500, Map.of("message",
+                        "Cast to ObjectId failed for value \"" + idText + "\" (type string) at path \"_id\" for model \"Product\""));
+                return;
+            }
+            switch (method) {
+                case "GET" -> {
+                    Product product = store.get(id);
+                    respond(exchange, 200, product != null ? product : Map.of("message", NOT_FOUND_MESSAGE));
+                }
+                case "PUT" -> update(exchange, id);
+                case "DELETE" -> {
+                    Product removed = store.remove(id);
+                    respond(exchange, removed != null ? 200 : 404,
+                            Map.of("message", removed != null ? DELETED_MESSAGE : NOT_FOUND_MESSAGE));
+                }
+                default -> respond(exchange, 404, Map.of("message", "Cannot " + method + " " + API_PATH + "/" + id));
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            respond(exchange, 500, Map.of("message", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        ProductRequest request = readRequest(exchange);
+        if (request.getName() == null || request.getName().isBlank()) {
+            respond(exchange, 500, Map.of("message", "Product validation failed: name: Please enter product name"));
+            return;
+        }
+        String now = Instant.now().toString();
+        ProductId id = ids.next();
+        Product product = new Product(id.toHexString(), request.getName(),
+                request.getQuantity() != null ? request.getQuantity() : 0,
+                request.getPrice() != null ? request.getPrice() : 0,
+                null, now, now, 0);
+        store.put(id, product);
+        respond(exchange, 200, product);
+    }
+
+    private void update(HttpExchange exchange, ProductId id) throws IOException {
+        ProductRequest request = readRequest(exchange);
+        Product updated = store.computeIfPresent(id, (key, current) -> new Product(
+                current._id(),
+                request.getName() != null ? request.getName() : current.name(),
+                request.getQuantity() != null ? request.getQuantity() : current.quantity(),
+                request.getPrice() != null ? request.getPrice() : current.price(),
+                current.image(),
+                current.createdAt(),
+                Instant.now().toString(),
+                current.__v()));
+        if (updated == null) {
+            respond(exchange, 404, Map.of("message", NOT_FOUND_MESSAGE));
+        } else {
+            respond(exchange, 200, updated);
+        }
+    }
+
+    private static ProductRequest readRequest(HttpExchange exchange) throws IOException {
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        try (InputStream body = HttpCompression.decode(encoding, exchange.getRequestBody())) {
+            byte[] bytes = body.readAllBytes();
+            return bytes.length == 0 ? new ProductRequest() : Json.MAPPER.readValue(bytes, ProductRequest.class);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        write(exchange, status, WRITER.writeValueAsBytes(body));
+    }
+
+    // gzip like the compression middleware: only when the client accepts it and the body is worth it
+    private static void write(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length >= COMPRESSION_THRESHOLD_BYTES && accepted != null && accepted.contains("gzip")) {
+            bytes = HttpCompression.gzip(bytes);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void respondWithETag(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = WRITER.writeValueAsBytes(body);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        String etag = "W/\"" + Integer.toHexString(bytes.length) + "-" + Long.toHexString(crc.getValue()) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        write(exchange, 200, bytes);
+    }
+
+    private void injectLatency() {
+        long delay = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis) : 0);
+        if (delay <= 0) return;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * MongoDB ObjectId layout: 4-byte epoch seconds, 5 random bytes, 3-byte counter
+     */
+    static final class ObjectIdGenerator {
+        private final long processUnique;
+        private final AtomicInteger counter;
+
+        ObjectIdGenerator() {
+            SecureRandom random = new SecureRandom();
+            processUnique = random.nextLong() & 0xFF_FFFF_FFFFL;
+            counter = new AtomicInteger(random.nextInt(0x1000000));
+        }
+
+        ProductId next() {
+            int seconds = (int) (System.currentTimeMillis() / 1000);
+            int count = counter.getAndIncrement() & 0xFFFFFF;
+            return ProductId.of(seconds, processUnique << 24 | count);
+        }
+    }
+}
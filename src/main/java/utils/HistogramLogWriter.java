@@ -0,0 +1,168 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * Writes {@link LatencyHistogram}s in the HdrHistogram log format (version 1.3, V2 compressed encoding)
+ * so runs can be compared with HistogramLogProcessor, HdrHistogramVisualizer and friends
+ * Histograms are expected to hold microseconds; the Interval_Max column is written in milliseconds
+ * Also renders the classic HdrHistogram percentile distribution table
+ */
+public class HistogramLogWriter implements AutoCloseable {
+
+    // V2 encoding cookies, low nibble 0x10 = ZigZag LEB128 counts with zero-run-length encoding
+    private static final int ENCODING_COOKIE = 0x1c849303 | 0x10;
+    private static final int COMPRESSED_ENCODING_COOKIE = 0x1c849304 | 0x10;
+    private static final int ENCODING_HEADER_SIZE = 40;
+    private static final int MAX_WORD_SIZE = 9;
+    private static final double MAX_VALUE_UNIT_RATIO = 1000.0;
+
+    private final Writer out;
+
+    public HistogramLogWriter(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open histogram log " + file, e);
+        }
+    }
+
+    /**
+     * Log header: format version, start time and legend
+     */
+    public void writeHeader(long startTimeMillis) {
+        write("#[Histogram log format version 1.3]\n");
+        write(String.format(Locale.ROOT, "#[StartTime: %.3f (seconds since epoch), %s]\n",
+                startTimeMillis / 1000.0, new Date(startTimeMillis)));
+        write(String.format(Locale.ROOT, "#[BaseTime: %.3f (seconds since epoch)]\n", startTimeMillis / 1000.0));
+        write("\"StartTimestamp\",\"Interval_Length\",\"Interval_Max\",\"Interval_Compressed_Histogram\"\n");
+    }
+
+    public void writeComment(String comment) {
+        write("#" + comment + "\n");
+    }
+
+    /**
+     * @param tag optional tag, lets one log carry several series (e.g. response vs service time)
+     * @param startSeconds interval start relative to the base time
+     */
+    public void writeInterval(String tag, double startSeconds, double lengthSeconds, LatencyHistogram histogram) {
+        String prefix = tag == null ? "" : "Tag=" + tag + ",";
+        write(String.format(Locale.ROOT, "%s%.3f,%.3f,%.3f,%s\n", prefix, startSeconds, lengthSeconds,
+                histogram.getMaxValue() / MAX_VALUE_UNIT_RATIO, encodeCompressedBase64(histogram)));
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close histogram log", e);
+        }
+    }
+
+    private void write(String text) {
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write histogram log", e);
+        }
+    }
+
+    static String encodeCompressedBase64(LatencyHistogram histogram) {
+        byte[] uncompressed = encode(histogram);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        deflater.setInput(uncompressed);
+        deflater.finish();
+        byte[] target = new byte[8 + uncompressed.length + 64];
+        int compressedLength = deflater.deflate(target, 8, target.length - 8);
+        deflater.end();
+        ByteBuffer.wrap(target).putInt(COMPRESSED_ENCODING_COOKIE).putInt(compressedLength);
+        return Base64.getEncoder().encodeToString(java.util.Arrays.copyOf(target, 8 + compressedLength));
+    }
+
+    static byte[] encode(LatencyHistogram histogram) {
+        int countsLimit = histogram.getTotalCount() == 0 ? 0 : LatencyHistogram.countsIndex(histogram.getMaxValue()) + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODING_HEADER_SIZE + countsLimit * MAX_WORD_SIZE);
+        buffer.putInt(ENCODING_COOKIE);
+        buffer.putInt(0); // payload length, patched below
+        buffer.putInt(0); // normalizing index offset
+        buffer.putInt(LatencyHistogram.SIGNIFICANT_DIGITS);
+        buffer.putLong(1); // lowest discernible value
+        buffer.putLong(histogram.getHighestTrackableValue());
+        buffer.putDouble(1.0); // integer to double conversion ratio
+
+        int index = 0;
+        while (index < countsLimit) {
+            long count = histogram.countAtIndex(index++);
+            int zeros = 0;
+            if (count == 0) {
+                zeros = 1;
+                while (index < countsLimit && histogram.countAtIndex(index) == 0) {
+                    zeros++;
+                    index++;
+                }
+            }
+            putZigZag(buffer, zeros > 1 ? -zeros : count);
+        }
+        buffer.putInt(4, buffer.position() - ENCODING_HEADER_SIZE);
+        return java.util.Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static void putZigZag(ByteBuffer buffer, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        for (int shift = 0; shift < 56; shift += 7) {
+            if ((v >>> (shift + 7)) == 0) {
+                buffer.put((byte) (v >>> shift));
+                return;
+            }
+            buffer.put((byte) (((v >>> shift) & 0x7F) | 0x80));
+        }
+        buffer.put((byte) (v >>> 56));
+    }
+
+    /**
+     * HdrHistogram-style percentile distribution, values converted from microseconds to milliseconds
+     */
+    public static String percentileTable(LatencyHistogram histogram) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%12s %14s %10s %14s%n%n", "Value(ms)", "Percentile", "TotalCount", "1/(1-Percentile)"));
+        long total = histogram.getTotalCount();
+        if (total > 0) {
+            int ticksPerHalfDistance = 5;
+            double percentile = 0;
+            while (true) {
+                long value = histogram.valueAtPercentile(percentile);
+                long countBelow = Math.min(total, (long) Math.ceil(percentile / 100.0 * total));
+                if (percentile >= 100 || value >= histogram.getMaxValue() && percentile > 0) {
+                    sb.append(String.format(Locale.ROOT, "%12.3f %2.12f %10d%n",
+                            histogram.getMaxValue() / 1000.0, 1.0, total));
+                    break;
+                }
+                sb.append(String.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f%n",
+                        value / 1000.0, percentile / 100.0, countBelow, 1 / (1 - percentile / 100.0)));
+                long reportingTicks = ticksPerHalfDistance
+                        * (long) Math.pow(2, (long) (Math.log(100.0 / (100.0 - percentile)) / Math.log(2)) + 1);
+                percentile += 100.0 / reportingTicks;
+            }
+        }
+        sb.append(String.format(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n",
+                histogram.getMean() / 1000.0, histogram.getStdDeviation() / 1000.0));
+        sb.append(String.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n",
+                histogram.getMaxValue() / 1000.0, total));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package utils;
+
+/**
+ * Log-linear latency histogram using the HdrHistogram bucket layout (2 significant digits)
+ * Values are unit-agnostic, callers in this framework record microseconds
+ * Not thread-safe: each writer owns its histogram and results are merged afterwards
+ */
+public class LatencyHistogram {
+    public static final int SIGNIFICANT_DIGITS = 2;
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE = 3_600_000_000L; // 1 hour in microseconds
+
+    // 2 significant digits need 200 distinct values per bucket, rounded up to 2^8 = 256 sub-buckets
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT << 1;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+    private final long highestTrackableValue;
+    private final long[] counts;
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+    private double sum;
+
+    public LatencyHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            throw new IllegalArgumentException("highestTrackableValue must be >= " + SUB_BUCKET_COUNT);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new long[(bucketsNeeded(highestTrackableValue) + 1) * SUB_BUCKET_HALF_COUNT];
+    }
+
+    /**
+     * Record a single value, values above the trackable range are clamped
+     */
+    public void record(long value) {
+        recordCount(value, 1);
+    }
+
+    public void recordCount(long value, long count) {
+        long v = Math.min(Math.max(value, 0), highestTrackableValue);
+        counts[countsIndex(v)] += count;
+        totalCount += count;
+        sum += (double) v * count;
+        if (v < minValue) minValue = v;
+        if (v > maxValue) maxValue = v;
+    }
+
+    /**
+     * Add all counts of another histogram with the same layout into this one
+     */
+    public void merge(LatencyHistogram other) {
+        if (other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Cannot merge histograms with different trackable ranges");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        if (other.totalCount > 0) {
+            minValue = Math.min(minValue, other.minValue);
+            maxValue = Math.max(maxValue, other.maxValue);
+        }
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram(highestTrackableValue);
+        copy.merge(this);
+        return copy;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    /**
+     * @param percentile 0..100
+     * @return highest value equivalent to the requested percentile, 0 when empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        double requested = Math.min(Math.max(percentile, 0), 100);
+        long countAtPercentile = Math.max(1, (long) ((requested / 100.0) * totalCount + 0.5));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= countAtPercentile) {
+                long value = valueFromIndex(i);
+                return requested == 0 ? value : Math.min(highestEquivalentValue(value), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMinValue() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    /**
+     * Standard deviation computed from bucket midpoints, same approximation HdrHistogram uses
+     */
+    public double getStdDeviation() {
+        if (totalCount == 0) return 0;
+        double mean = getMean();
+        double geometricDeviationTotal = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            long lowest = valueFromIndex(i);
+            double deviation = lowest + (highestEquivalentValue(lowest) - lowest) / 2.0 - mean;
+            geometricDeviationTotal += deviation * deviation * counts[i];
+        }
+        return Math.sqrt(geometricDeviationTotal / totalCount);
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    // Raw layout access for encoders that need the HdrHistogram counts array
+    public int countsLength() {
+        return counts.length;
+    }
+
+    public long countAtIndex(int index) {
+        return counts[index];
+    }
+
+    public static long valueFromIndex(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    /**
+     * Index of the counts slot that holds the given value
+     */
+    public static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestEquivalentValue(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        long lowestEquivalent = (value >>> bucketIndex) << bucketIndex;
+        return lowestEquivalent + (1L << bucketIndex) - 1;
+    }
+
+    private static int bucketsNeeded(long highestTrackableValue) {
+        long smallestUntrackableValue = SUB_BUCKET_COUNT;
+        int bucketsNeeded = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                return bucketsNeeded + 1;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketsNeeded++;
+        }
+        return bucketsNeeded;
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Records latencies into one {@link LatencyHistogram} per writer thread, so the hot path never contends
+ * Histograms of writer threads that have ended are folded into one retired histogram and handed to the next new
+ * writer, so a run on short-lived (e.g. virtual) threads keeps about one histogram per live writer, not one per thread
+ * {@link #snapshot()} merges all per-thread histograms; call it once writers are done (joined or shut down)
+ */
+public class LatencyRecorder {
+    private static final int MIN_SWEEP_THRESHOLD = 64;
+
+    private final long highestTrackableValue;
+    private final ThreadLocal<LatencyHistogram> local;
+
+    // Guarded by this
+    private final List<Writer> writers = new ArrayList<>();
+    private final ArrayDeque<LatencyHistogram> free = new ArrayDeque<>();
+    private final LatencyHistogram retired;
+    private int sweepThreshold = MIN_SWEEP_THRESHOLD;
+
+    private record Writer(WeakReference<Thread> thread, LatencyHistogram histogram) {
+        boolean isDead() {
+            Thread owner = thread.get();
+            return owner == null || !owner.isAlive();
+        }
+    }
+
+    public LatencyRecorder() {
+        this(LatencyHistogram.DEFAULT_HIGHEST_TRACKABLE_VALUE);
+    }
+
+    public LatencyRecorder(long highestTrackableValue) {
+        this.highestTrackableValue = highestTrackableValue;
+        this.retired = new LatencyHistogram(highestTrackableValue);
+        this.local = ThreadLocal.withInitial(this::register);
+    }
+
+    public void record(long value) {
+        local.get().record(value);
+    }
+
+    /**
+     * @return a new histogram holding the merged counts of every writer thread, live or ended
+     */
+    public synchronized LatencyHistogram snapshot() {
+        retireDeadWriters();
+        LatencyHistogram merged = retired.copy();
+        for (Writer writer : writers) {
+            merged.merge(writer.histogram());
+        }
+        return merged;
+    }
+
+    /**
+     * Writer threads currently holding a histogram, ended ones are only counted until the next sweep
+     */
+    public synchronized int writerCount() {
+        return writers.size();
+    }
+
+    private synchronized LatencyHistogram register() {
+        if (writers.size() >= sweepThreshold) {
+            retireDeadWriters();
+            sweepThreshold = Math.max(MIN_SWEEP_THRESHOLD, writers.size() * 2);
+        }
+        LatencyHistogram histogram = free.poll();
+        if (histogram == null) {
+            histogram = new LatencyHistogram(highestTrackableValue);
+        }
+        writers.add(new Writer(new WeakReference<>(Thread.currentThread()), histogram));
+        return histogram;
+    }
+
+    // An ended thread can no longer write (isAlive() == false happens-after its last record), so its counts move
+    // into the retired histogram and the emptied histogram is reused
+    private void retireDeadWriters() {
+        for (Iterator<Writer> it = writers.iterator(); it.hasNext(); ) {
+            Writer writer = it.next();
+            if (writer.isDead()) {
+                retired.merge(writer.histogram());
+                writer.histogram().reset();
+                free.add(writer.histogram());
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Retries and Circuit Breaker")
+public class ApiClientTest {
+
+    @Test
+    @Description("A malformed id's deterministic 500 is neither retried nor counted against the backend")
+    void requestCaused500IsNotRetried() {
+        try (ProductStubServer stub = ProductStubServer.builder().build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 2)) {
+            Service service = new Service(client);
+            for (int i = 0; i < 20; i++) {
+                assertEquals(500, service.getProductById("not-an-id").getStatusCode());
+            }
+            assertEquals(20, stub.getRequestsServed());
+            assertEquals(0, client.getRetryBudget().getRetries());
+            assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+            assertEquals(0.0, client.getCircuitBreaker().failureRate());
+        }
+    }
+
+    @Test
+    @Description("Backend 500s are retried within the budget and open the circuit")
+    void backend500sAreRetriedAndOpenTheCircuit() {
+        try (ProductStubServer stub = ProductStubServer.builder().errorRate(1).build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 2)) {
+            Service service = new Service(client);
+            assertEquals(500, service.getProductById("000000000000000000000000").getStatusCode());
+            assertTrue(client.getRetryBudget().getRetries() > 0);
+            assertTrue(stub.getRequestsServed() > 1);
+
+            while (client.getCircuitBreaker().getState() == CircuitBreaker.State.CLOSED) {
+                service.getProductById("000000000000000000000000");
+            }
+            assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker().getState());
+        }
+    }
+}
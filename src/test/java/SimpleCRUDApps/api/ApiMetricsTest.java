@@ -0,0 +1,64 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@Epic("API Client")
+@Feature("API Metrics")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ApiMetricsTest {
+
+    private ProductStubServer stub;
+    private ApiClient client;
+
+    @BeforeAll
+    void startStub() {
+        stub = ProductStubServer.builder().latencyMillis(20).build().start();
+        client = ApiClient.open(stub.getBaseUrl(), 4);
+    }
+
+    @AfterAll
+    void stopStub() {
+        client.close();
+        stub.close();
+    }
+
+    @Test
+    @Description("Async calls completing on HttpClient threads are recorded in the test that sent them")
+    void asyncCallsAreRecordedInTheSendingTest() {
+        AsyncService service = new AsyncService(client);
+        ApiMetrics.beginTest();
+        CompletableFuture.allOf(service.getAllProducts(), service.getAllProducts(), service.getAllProducts()).join();
+        ApiMetrics metrics = ApiMetrics.endTest();
+
+        assertNotNull(metrics);
+        assertEquals(3, metrics.getCalls());
+        assertEquals(3, metrics.latency(Endpoint.LIST).getTotalCount());
+    }
+
+    @Test
+    @Description("A propagated call records into the scope of the thread that created it")
+    void propagatedCallKeepsTheTestScope() throws Exception {
+        ApiMetrics.beginTest();
+        var call = ApiMetrics.propagate(() -> {
+            ApiMetrics.recordCall(Endpoint.LIST, 1000, 200, 0, 10);
+            return ApiMetrics.currentTest();
+        });
+        ApiMetrics scope = CompletableFuture.supplyAsync(call).get();
+        ApiMetrics metrics = ApiMetrics.endTest();
+
+        assertEquals(metrics, scope);
+        assertEquals(1, metrics.getCalls());
+    }
+}
@@ -0,0 +1,140 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.model.ProductResponse;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Async Service")
+public class AsyncServiceTest {
+
+    private static final String MISSING_ID = "66321642a1b2c3d4e5f60718";
+
+    private ProductStubServer stub;
+    private ApiClient client;
+    private AsyncService service;
+
+    private void start(ProductStubServer.ProductStubServerBuilder builder) {
+        stub = builder.build().start();
+        client = ApiClient.open(stub.getBaseUrl(), 4);
+        service = new AsyncService(client);
+    }
+
+    @AfterEach
+    void stop() {
+        if (client != null) {
+            client.close();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    private static <T extends Throwable> T failure(Class<T> type, CompletableFuture<?> future) {
+        return assertInstanceOf(type, assertThrows(CompletionException.class, future::join).getCause());
+    }
+
+    @Test
+    @Description("A non-2xx answer fails the future with ApiResponseException carrying the status and body")
+    void nonSuccessStatusFailsTheFuture() {
+        start(ProductStubServer.builder());
+
+        ApiResponseException notFound = failure(ApiResponseException.class,
+                service.updateProduct(MISSING_ID, ProductPayload.of("Soto", 1, 18000)));
+        assertEquals(404, notFound.getStatusCode());
+        assertTrue(notFound.isNotFound());
+
+        ApiResponseException malformed = failure(ApiResponseException.class, service.getProductById("not-an-id"));
+        assertEquals(500, malformed.getStatusCode());
+        assertTrue(malformed.getBody().contains("Cast to ObjectId failed"), malformed.getBody());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+        assertEquals(0, client.getCircuitBreaker().failureRate());
+    }
+
+    @Test
+    @Description("An expired deadline fails the call before it is sent")
+    void expiredDeadlineFailsBeforeSending() throws InterruptedException {
+        start(ProductStubServer.builder());
+        long served = stub.getRequestsServed();
+
+        try (Deadline.Scope ignored = Deadline.open("test", Duration.ofMillis(1))) {
+            Thread.sleep(5);
+            failure(DeadlineExceededException.class, service.getAllProducts());
+        }
+
+        assertEquals(served, stub.getRequestsServed());
+    }
+
+    @Test
+    @Description("A call cut off by the deadline fails with DeadlineExceededException and is not held against the backend")
+    void deadlineExpiringInFlightIsNotABackendFailure() {
+        start(ProductStubServer.builder().latencyMillis(1_000));
+
+        CompletableFuture<?> call;
+        try (Deadline.Scope ignored = Deadline.open("test", Duration.ofMillis(200))) {
+            call = service.getAllProducts();
+        }
+
+        failure(DeadlineExceededException.class, call);
+        assertEquals(0, client.getCircuitBreaker().failureRate());
+    }
+
+    @Test
+    @Description("Backend 500s open the shared circuit breaker, after which calls fail fast without a request")
+    void openBreakerFailsFast() {
+        start(ProductStubServer.builder().errorRate(1));
+        for (int i = 0; i < 10; i++) {
+            failure(ApiResponseException.class, service.getProductById(MISSING_ID));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker().getState());
+        long served = stub.getRequestsServed();
+
+        failure(BackendUnavailableException.class, service.getProductById(MISSING_ID));
+
+        assertEquals(served, stub.getRequestsServed());
+        assertEquals(1, client.getCircuitBreaker().getRejectedCalls());
+    }
+
+    @Test
+    @Description("Creates and deletes keep the created-products registry in step")
+    void createAndDeleteUpdateTheRegistry() {
+        start(ProductStubServer.builder());
+
+        ProductResponse created = service.createProduct(ProductPayload.of("Es Cendol", 1, 7000)).join();
+        assertTrue(client.getCreatedProducts().contains(created.getProductId()));
+
+        service.deleteProduct(created.getId()).join();
+        assertFalse(client.getCreatedProducts().contains(created.getProductId()));
+        assertEquals(0, client.getCreatedProducts().size());
+    }
+
+    @Test
+    @Description("An update drops the product from the client's read-through cache")
+    void updateInvalidatesTheCachedProduct() {
+        start(ProductStubServer.builder());
+        Service sync = new Service(client);
+        String id = service.createProduct(ProductPayload.of("Sate", 1, 20000)).join().getId();
+        assertEquals("Sate", sync.getCachedProductById(id).getName());
+        assertEquals(1, client.getProductCache().size());
+
+        service.updateProduct(id, ProductPayload.of("Sate Padang", 1, 25000)).join();
+
+        assertEquals(0, client.getProductCache().size());
+        assertEquals("Sate Padang", sync.getCachedProductById(id).getName());
+    }
+}
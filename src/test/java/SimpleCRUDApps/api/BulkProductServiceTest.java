@@ -0,0 +1,142 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.model.ProductResponse;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Bulk Operations")
+public class BulkProductServiceTest {
+
+    private static final String MISSING_ID = "66321642a1b2c3d4e5f60718";
+
+    private ProductStubServer stub;
+    private ApiClient client;
+
+    @BeforeEach
+    void start() {
+        stub = ProductStubServer.builder().latencyMillis(20).build().start();
+        client = ApiClient.open(stub.getBaseUrl(), 8);
+    }
+
+    @AfterEach
+    void stop() {
+        client.close();
+        stub.close();
+    }
+
+    private static ProductRequest request(String name) {
+        return ProductRequest.builder().name(name).quantity(1).price(1000).build();
+    }
+
+    private List<String> create(int count) {
+        List<ProductRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(request("Fixture " + i));
+        }
+        return new BulkProductService(new AsyncService(client), 8).createProducts(requests).throwIfAnyFailed()
+                .getResponses().stream().map(ProductResponse::getId).toList();
+    }
+
+    @Test
+    @Description("No more than maxInFlight requests are outstanding at once, and every item is sent")
+    void inFlightNeverExceedsTheLimit() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AsyncService counting = new AsyncService(client) {
+            @Override
+            public CompletableFuture<ProductResponse> createProduct(ProductRequest product) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return super.createProduct(product).whenComplete((response, error) -> inFlight.decrementAndGet());
+            }
+        };
+        List<ProductRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(request("Bulk " + i));
+        }
+
+        BulkResult<ProductRequest, ProductResponse> result = new BulkProductService(counting, 3).createProducts(requests);
+
+        assertTrue(result.isCompleteSuccess(), result.failureReport());
+        assertEquals(20, stub.getProductCount());
+        assertEquals(3, maxInFlight.get());
+        assertEquals(0, inFlight.get());
+    }
+
+    @Test
+    @Description("Failed items are reported per item in input order instead of failing the whole batch")
+    void mixedResultsAreReportedPerItem() {
+        List<ProductRequest> requests = List.of(request("Soto"), request(" "), request("Sate"));
+
+        BulkResult<ProductRequest, ProductResponse> result = new BulkProductService(new AsyncService(client), 2)
+                .createProducts(requests);
+
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getFailureCount());
+        assertEquals(List.of("Soto", "Sate"), result.getResponses().stream().map(ProductResponse::getName).toList());
+        BulkResult.Item<ProductRequest, ProductResponse> failed = result.getFailures().get(0);
+        assertEquals(1, failed.index());
+        assertNull(failed.response());
+        assertEquals(500, assertInstanceOf(ApiResponseException.class, failed.error()).getStatusCode());
+        assertTrue(result.failureReport().contains("#1 "), result.failureReport());
+        assertThrows(IllegalStateException.class, result::throwIfAnyFailed);
+        assertEquals(2, stub.getProductCount());
+    }
+
+    @Test
+    @Description("Deleting a product that is already gone fails its item, the others are still deleted")
+    void deleteOfMissingProductFailsItsItem() {
+        List<String> ids = new ArrayList<>(create(2));
+        ids.add(1, MISSING_ID);
+
+        BulkResult<String, ProductResponse> result = new BulkProductService(new AsyncService(client), 2).deleteProducts(ids);
+
+        assertEquals(2, result.getSuccessCount());
+        BulkResult.Item<String, ProductResponse> failed = result.getFailures().get(0);
+        assertEquals(MISSING_ID, failed.input());
+        assertTrue(assertInstanceOf(ApiResponseException.class, failed.error()).isNotFound());
+        assertEquals(0, stub.getProductCount());
+    }
+
+    @Test
+    @Description("A delete answered 200 with \"Product not found\" fails its item like a 404 would")
+    void notFoundMessageFailsTheDeleteWhateverTheStatus() {
+        String id = create(1).get(0);
+        AsyncService answersNotFound = new AsyncService(client) {
+            @Override
+            public CompletableFuture<ProductResponse> deleteProduct(String productId) {
+                return MISSING_ID.equals(productId)
+                        ? CompletableFuture.completedFuture(ProductResponse.builder().message(ApiResponseException.NOT_FOUND_MESSAGE).build())
+                        : super.deleteProduct(productId);
+            }
+        };
+
+        BulkResult<String, ProductResponse> result = new BulkProductService(answersNotFound, 2)
+                .deleteProducts(List.of(MISSING_ID, id));
+
+        assertFalse(result.getItems().get(0).succeeded());
+        ApiResponseException error = assertInstanceOf(ApiResponseException.class, result.getItems().get(0).error());
+        assertEquals(200, error.getStatusCode());
+        assertTrue(error.isNotFound());
+        assertTrue(result.getItems().get(1).succeeded());
+        assertEquals(0, stub.getProductCount());
+    }
+}
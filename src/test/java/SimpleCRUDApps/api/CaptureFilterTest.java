@@ -0,0 +1,87 @@
+package SimpleCRUDApps.api;
+
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Epic("API Client")
+@Feature("Failure Logging")
+public class CaptureFilterTest {
+
+    private static final String JSON = "{\"name\":\"Es Cendol\",\"price\":7000}";
+
+    // Stands in for CompressionFilter with -Dapi.compressRequests=true, which is fixed when the class loads
+    private static final Filter GZIP_BODY = (requestSpec, responseSpec, ctx) -> {
+        requestSpec.body(HttpCompression.gzip(requestSpec.<byte[]>getBody()));
+        requestSpec.header("Content-Encoding", "gzip");
+        return ctx.next(requestSpec, responseSpec);
+    };
+
+    private HttpServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        assumeTrue(ApiLogMode.current() == ApiLogMode.ON_FAILURE, "capture only runs in failure-only logging");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/products", exchange -> {
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+            }
+            byte[] body = "{\"_id\":\"66321642a1b2c3d4e5f60718\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        ApiCapture.discard();
+    }
+
+    @AfterEach
+    void stop() {
+        ApiCapture.discard();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @Description("A byte[] request body is captured as its JSON text, as built before compression replaces it")
+    void capturesByteBodiesBeforeCompression() {
+        RestAssured.given()
+                .baseUri("http://127.0.0.1:" + server.getAddress().getPort())
+                .filter(new CaptureFilter())
+                .filter(GZIP_BODY)
+                .contentType("application/json")
+                .body(JSON.getBytes(StandardCharsets.UTF_8))
+                .post("/api/products")
+                .then().statusCode(200);
+
+        List<String> captured = ApiCapture.peek();
+        assertEquals(1, captured.size());
+        String exchange = captured.get(0);
+        assertTrue(exchange.contains("\n" + JSON + "\n"), exchange);
+        assertFalse(exchange.contains("[B@"), exchange);
+        assertTrue(exchange.contains("<<< HTTP/1.1 200"), exchange);
+        assertTrue(exchange.contains("66321642a1b2c3d4e5f60718"), exchange);
+    }
+}
@@ -0,0 +1,112 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Circuit Breaker")
+public class CircuitBreakerTest {
+
+    private static void call(CircuitBreaker breaker, boolean fails) {
+        breaker.acquirePermission();
+        if (fails) {
+            breaker.onFailure("test");
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    @Description("The circuit stays closed until minimumCalls have been seen, then opens on a failure at the threshold")
+    void opensAtThresholdAfterMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 60_000);
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(BackendUnavailableException.class, breaker::acquirePermission);
+        assertThrows(BackendUnavailableException.class, breaker::ensureAvailable);
+        assertEquals(2, breaker.getRejectedCalls());
+    }
+
+    @Test
+    @Description("Failures that slide out of the window no longer count")
+    void slidingWindowForgetsOldFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, 60_000);
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, false);
+        call(breaker, false);
+        call(breaker, false);
+        call(breaker, false);
+        assertEquals(0.0, breaker.failureRate());
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @Description("After the open period a single probe is let through; success closes the circuit")
+    void halfOpenProbeClosesOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, 0);
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(BackendUnavailableException.class, breaker::acquirePermission);
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    @Description("A failed half-open probe re-opens the circuit")
+    void halfOpenProbeReopensOnFailure() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, 0);
+        call(breaker, true);
+        call(breaker, true);
+        breaker.acquirePermission();
+        breaker.onFailure("probe");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @Description("A released probe frees the half-open slot for the next caller")
+    void releaseFreesTheProbe() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 2, 0.5, 0);
+        call(breaker, true);
+        call(breaker, true);
+        breaker.acquirePermission();
+        breaker.release();
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    @Description("Only 5xx answers not caused by the request count as backend failures")
+    void requestCaused500sAreNotFailures() {
+        assertFalse(CircuitBreaker.isFailure(200, "{}"));
+        assertFalse(CircuitBreaker.isFailure(404, "{\"message\":\"Product not found\"}"));
+        assertFalse(CircuitBreaker.isFailure(500,
+                "{\"message\":\"Cast to ObjectId failed for value \\\"x\\\" (type string) at path \\\"_id\\\"\"}"));
+        assertFalse(CircuitBreaker.isFailure(500, "{\"message\":\"Product validation failed: name: Please enter product name\"}"));
+        assertTrue(CircuitBreaker.isFailure(500, "{\"message\":\"Injected failure\"}"));
+        assertTrue(CircuitBreaker.isFailure(500, null));
+        assertTrue(CircuitBreaker.isFailure(503, "Cast to ObjectId failed"));
+    }
+}
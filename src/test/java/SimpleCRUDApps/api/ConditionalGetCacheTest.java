@@ -0,0 +1,123 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Epic("API Client")
+@Feature("Conditional GET")
+public class ConditionalGetCacheTest {
+
+    private static final String LIST = "/api/products";
+
+    private ProductStubServer stub;
+    private ConditionalGetCache cache;
+
+    @BeforeEach
+    void start() {
+        stub = ProductStubServer.builder().build().start();
+        cache = new ConditionalGetCache();
+        ApiClient client = ApiClient.open(stub.getBaseUrl(), 1);
+        try {
+            new Service(client).createProduct(ProductPayload.of("Es Cendol", 1, 7000));
+        } finally {
+            client.close();
+        }
+    }
+
+    @AfterEach
+    void stop() {
+        stub.close();
+    }
+
+    private Response conditionalGet() {
+        ConditionalGetCache.Entry sent = cache.get(LIST);
+        Response response = cache.withValidators(RestAssured.given().baseUri(stub.getBaseUrl()), sent).get(LIST);
+        return cache.resolve(LIST, sent, response);
+    }
+
+    @Test
+    @Description("A 304 returns a fresh copy of the stored 200 with the 304's headers and time, and reuses the parsed list")
+    void notModifiedReturnsACopyOfTheStoredResponse() {
+        Response first = conditionalGet();
+        List<Product> parsed = cache.products(LIST, first);
+
+        ConditionalGetCache.Entry sent = cache.get(LIST);
+        Response notModified = cache.withValidators(RestAssured.given().baseUri(stub.getBaseUrl()), sent).get(LIST);
+        assertEquals(304, notModified.getStatusCode());
+        Response resolved = cache.resolve(LIST, sent, notModified);
+
+        assertNotSame(first, resolved);
+        assertNotSame(resolved, conditionalGet());
+        assertEquals(200, resolved.getStatusCode());
+        assertArrayEquals(first.asByteArray(), resolved.asByteArray());
+        assertEquals(notModified.getHeader("ETag"), resolved.getHeader("ETag"));
+        assertEquals(notModified.getHeader("Date"), resolved.getHeader("Date"));
+        assertEquals(first.getHeader("Content-Length"), resolved.getHeader("Content-Length"));
+        assertEquals(notModified.getTime(), resolved.getTime());
+        assertSame(parsed, cache.products(LIST, resolved));
+
+        assertEquals(2, cache.getNotModified());
+        assertEquals(2L * first.asByteArray().length, cache.getBytesAvoided());
+        assertEquals(1, cache.getParses());
+        assertEquals(1, cache.getParsesAvoided());
+    }
+
+    @Test
+    @Description("A 200 with a new ETag replaces the stored entry and its parsed list")
+    void changedListReplacesTheEntry() {
+        Response first = conditionalGet();
+        assertEquals(1, cache.products(LIST, first).size());
+        ApiClient client = ApiClient.open(stub.getBaseUrl(), 1);
+        try {
+            new Service(client).createProduct(ProductPayload.of("Soto", 1, 18000));
+        } finally {
+            client.close();
+        }
+
+        Response changed = conditionalGet();
+
+        assertEquals(200, changed.getStatusCode());
+        assertSame(changed, cache.get(LIST).response());
+        assertEquals(2, cache.products(LIST, changed).size());
+        assertEquals(0, cache.getNotModified());
+        assertEquals(0, cache.getBytesAvoided());
+        assertEquals(2, cache.getParses());
+        assertEquals(0, cache.getParsesAvoided());
+    }
+
+    @Test
+    @Description("A 200 without ETag or Last-Modified passes through and drops the stored entry")
+    void responseWithoutValidatorsIsNotStored() {
+        conditionalGet();
+        assertNotNull(cache.get(LIST));
+        Response plain = new ResponseBuilder().setStatusCode(200).setContentType("application/json")
+                .setBody("[{\"_id\":\"66321642a1b2c3d4e5f60718\",\"name\":\"Es Cendol\",\"price\":7000}]").build();
+
+        assertSame(plain, cache.resolve(LIST, cache.get(LIST), plain));
+
+        assertNull(cache.get(LIST));
+        assertEquals("Es Cendol", cache.products(LIST, plain).get(0).name());
+        assertEquals(1, cache.getParses());
+        assertEquals(0, cache.getNotModified());
+        assertEquals(0, cache.getBytesAvoided());
+    }
+}
@@ -0,0 +1,102 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.stub.ProductStubServer;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Deadlines")
+public class DeadlineTest {
+
+    @Test
+    @Description("A nested deadline never outlives the enclosing one and is restored when closed")
+    void nestedDeadlineIsCappedByTheOuterOne() {
+        try (Deadline.Scope outer = Deadline.open("test", Duration.ofMillis(500))) {
+            try (Deadline.Scope inner = Deadline.open("step", Duration.ofSeconds(60))) {
+                assertTrue(inner.deadline().remainingMillis() <= 500);
+                assertEquals(500, inner.deadline().timeoutMillis(30_000), 20);
+            }
+            assertSame(outer.deadline(), Deadline.current());
+        }
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    @Description("An expired deadline fails the next call before it touches the network")
+    void expiredDeadlineFailsBeforeTheCall() throws InterruptedException {
+        try (Deadline.Scope ignored = Deadline.open("test", Duration.ofMillis(1))) {
+            Thread.sleep(5);
+            DeadlineExceededException e = assertThrows(DeadlineExceededException.class, () -> Deadline.current().check("GET /api/products"));
+            assertTrue(e.getMessage().contains("GET /api/products"));
+            assertEquals(1, Deadline.current().timeoutMillis(30_000), "a timeout of 0 would mean no timeout at all");
+        }
+    }
+
+    @Test
+    @Description("Deadline.step bounds the calls inside the step and ends with it")
+    void stepOpensADeadlineForItsCalls() {
+        String name = Deadline.step("Get Products", Duration.ofSeconds(5), () -> Deadline.current().getName());
+        assertEquals("Get Products", name);
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    @Description("A response trickling in within the read timeout is cut off when the deadline expires")
+    void slowDripResponseIsCutOffAtTheDeadline() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/products", exchange -> {
+            // 50 bytes, one every 100 ms: each read is far below the read timeout, the whole body takes 5 s
+            exchange.sendResponseHeaders(200, 50);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int i = 0; i < 50; i++) {
+                    body.write(' ');
+                    body.flush();
+                    Thread.sleep(100);
+                }
+            } catch (IOException | InterruptedException e) {
+                // client hung up
+            }
+        });
+        server.start();
+        try (ApiClient client = ApiClient.open("http://127.0.0.1:" + server.getAddress().getPort(), 1);
+             Deadline.Scope ignored = Deadline.open("test", Duration.ofMillis(500))) {
+            long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class,
+                    () -> client.execute(Endpoint.LIST, () -> client.given().get("/api/products")));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMillis < 3000, "took " + elapsedMillis + " ms");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @Description("Calls finishing within the deadline leave no watchdog behind")
+    void completedCallsDisarmTheWatchdog() {
+        try (ProductStubServer stub = ProductStubServer.builder().build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 2);
+             Deadline.Scope ignored = Deadline.open("test", Duration.ofSeconds(10))) {
+            Service service = new Service(client);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(200, service.getAllProducts().getStatusCode());
+            }
+            assertEquals(0, client.pendingDeadlineWatchdogs());
+        }
+    }
+}
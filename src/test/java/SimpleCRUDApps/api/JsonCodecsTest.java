@@ -0,0 +1,55 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.model.ProductResponse;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Models")
+@Feature("JSON Codecs")
+public class JsonCodecsTest {
+
+    // A create response as the backend sends it: no image, so databind and the codecs must agree on the missing field
+    private static final byte[] CREATED = ("{\"_id\":\"66321642a1b2c3d4e5f60718\",\"name\":\"Pempek\",\"quantity\":9,"
+            + "\"price\":25000,\"createdAt\":\"2024-05-01T10:15:30.123Z\",\"updatedAt\":\"2024-05-01T10:15:30.123Z\","
+            + "\"__v\":0,\"tags\":[\"x\"]}").getBytes(StandardCharsets.UTF_8);
+
+    // Same fields and values; databind may order renamed properties differently
+    private static void assertWritesLikeDatabind(Object value) throws Exception {
+        assertEquals(Json.MAPPER.readTree(Json.MAPPER.writeValueAsBytes(value)), Json.MAPPER.readTree(JsonCodecs.write(value)));
+    }
+
+    @Test
+    @Description("The generated model codecs are registered and decode responses exactly like Jackson databind")
+    void modelCodecsReadLikeDatabind() throws Exception {
+        assertNotNull(JsonCodecs.codecFor(Product.class));
+        assertNotNull(JsonCodecs.codecFor(ProductRequest.class));
+        assertNotNull(JsonCodecs.codecFor(ProductResponse.class));
+
+        assertEquals(Json.MAPPER.readValue(CREATED, Product.class), JsonCodecs.read(CREATED, Product.class));
+        assertEquals(Json.MAPPER.readValue(CREATED, ProductResponse.class), JsonCodecs.read(CREATED, ProductResponse.class));
+    }
+
+    @Test
+    @Description("The generated model codecs write the same bytes as Jackson databind, NON_NULL included")
+    void modelCodecsWriteLikeDatabind() throws Exception {
+        Product product = JsonCodecs.read(CREATED, Product.class);
+        assertWritesLikeDatabind(product);
+        assertTrue(Json.MAPPER.readTree(JsonCodecs.write(product)).has("image"), "Product has no NON_NULL, null image is written");
+
+        assertWritesLikeDatabind(JsonCodecs.read(CREATED, ProductResponse.class));
+
+        ProductRequest request = ProductRequest.builder().name("Pempek").price(25000).build();
+        assertWritesLikeDatabind(request);
+        assertEquals("{\"name\":\"Pempek\",\"price\":25000}", new String(JsonCodecs.write(request), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package SimpleCRUDApps.api;
+
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Epic("API Client")
+@Feature("API Metrics")
+public class MetricsFilterTest {
+
+    private static final byte[] JSON = ("[" + "{\"name\":\"Nasi Goreng\",\"price\":20000,\"quantity\":1},".repeat(100)
+            + "{\"name\":\"Nasi Goreng\",\"price\":20000,\"quantity\":1}]").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIPPED = HttpCompression.gzip(JSON);
+
+    private HttpServer server;
+    private ApiClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // length 0: chunked, so the only record of the compressed size is what crosses the connection
+        server.createContext("/api/products/chunked", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(GZIPPED);
+            }
+        });
+        server.createContext("/api/products/plain", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(JSON);
+            }
+        });
+        server.start();
+        client = ApiClient.open("http://127.0.0.1:" + server.getAddress().getPort(), 2);
+        ApiMetrics.beginTest();
+    }
+
+    @AfterEach
+    void stop() {
+        ApiMetrics.endTest();
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    @Description("A chunked gzip response is recorded with its compressed size on the wire")
+    void chunkedGzipResponseRecordsCompressedSize() {
+        assertEquals(JSON.length, client.given().get("/api/products/chunked").asByteArray().length);
+
+        ApiMetrics metrics = ApiMetrics.currentTest();
+        assertEquals(JSON.length, metrics.responseBytes(Endpoint.GET_BY_ID));
+        assertEquals(GZIPPED.length, metrics.responseWireBytes(Endpoint.GET_BY_ID));
+    }
+
+    @Test
+    @Description("An uncompressed response is recorded with the same size decoded and on the wire")
+    void plainResponseRecordsBodySize() {
+        client.given().get("/api/products/plain").asByteArray();
+
+        ApiMetrics metrics = ApiMetrics.currentTest();
+        assertEquals(JSON.length, metrics.responseBytes(Endpoint.GET_BY_ID));
+        assertEquals(JSON.length, metrics.responseWireBytes(Endpoint.GET_BY_ID));
+    }
+
+    @Test
+    @Description("A call that never gets a response, here a refused connection, is recorded as status 0 and rethrown")
+    void connectionFailureIsRecordedAsStatusZero() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+        try (ApiClient refused = ApiClient.open("http://127.0.0.1:" + closedPort, 1)) {
+            Exception e = assertThrows(Exception.class, () -> refused.given().get("/api/products"));
+            assertInstanceOf(IOException.class, e, e.toString());
+        }
+
+        ApiMetrics metrics = ApiMetrics.currentTest();
+        assertEquals(Map.of(0, 1L), metrics.statusCodes(Endpoint.LIST));
+        assertEquals(1, metrics.getCalls());
+    }
+}
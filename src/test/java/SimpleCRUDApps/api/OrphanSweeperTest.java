@@ -0,0 +1,83 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductPayload;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Epic("API Client")
+@Feature("Orphan Sweeping")
+public class OrphanSweeperTest {
+
+    private ProductStubServer stub;
+    private ApiClient client;
+    private Service service;
+
+    @BeforeEach
+    void start() {
+        stub = ProductStubServer.builder().build().start();
+        client = ApiClient.open(stub.getBaseUrl(), 4);
+        service = new Service(client);
+    }
+
+    @AfterEach
+    void stop() {
+        client.close();
+        stub.close();
+    }
+
+    private String create(String name) {
+        return service.createProduct(ProductPayload.of(name, 1, 100)).jsonPath().getString("_id");
+    }
+
+    @Test
+    @Description("Products created and never deleted are removed at the end of the run, deleted ones are left alone")
+    void leftoverProductsAreDeleted() {
+        create("Orphan A");
+        create("Orphan B");
+        service.deleteProduct(create("Cleaned up"));
+        assertEquals(2, stub.getProductCount());
+
+        OrphanSweeper.Report report = OrphanSweeper.sweep(client);
+
+        assertEquals(3, report.created());
+        assertEquals(2, report.orphans());
+        assertEquals(2, report.deleted());
+        assertEquals(0, report.failed());
+        assertEquals(0, stub.getProductCount());
+        assertEquals(0, client.getCreatedProducts().size());
+    }
+
+    @Test
+    @Description("A product deleted behind the client's back counts as already gone, not as a failure")
+    void productDeletedElsewhereCountsAsAlreadyGone() {
+        String id = create("Deleted elsewhere");
+        client.unrecordedGiven().delete(baseEndPoint.productService + "/" + id).asByteArray();
+
+        OrphanSweeper.Report report = OrphanSweeper.sweep(client);
+
+        assertEquals(1, report.orphans());
+        assertEquals(0, report.deleted());
+        assertEquals(1, report.alreadyGone());
+        assertEquals(0, report.failed());
+        assertEquals(0, client.getCreatedProducts().size());
+    }
+
+    @Test
+    @Description("Nothing left behind sends no request")
+    void cleanRunSendsNothing() {
+        service.deleteProduct(create("Cleaned up"));
+        long served = stub.getRequestsServed();
+
+        OrphanSweeper.Report report = OrphanSweeper.sweep(client);
+
+        assertEquals(0, report.orphans());
+        assertEquals(served, stub.getRequestsServed());
+    }
+}
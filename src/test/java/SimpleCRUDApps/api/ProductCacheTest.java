@@ -0,0 +1,116 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductResponse;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Product Cache")
+public class ProductCacheTest {
+
+    private static final String ID = "65f1c2a4b7e9d01234567890";
+
+    private static ProductResponse product(String name) {
+        return ProductResponse.builder().id(ID).name(name).build();
+    }
+
+    @Test
+    @Description("A fresh entry is served without calling the loader again")
+    void secondLookupIsAHit() {
+        ProductCache cache = new ProductCache(60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, ProductResponse> loader = id -> {
+            loads.incrementAndGet();
+            return product("Sate");
+        };
+        ProductResponse first = cache.get(ID, loader);
+        assertEquals(first, cache.get(ID, loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @Description("Each lookup gets its own copy, so changing a returned product does not change later lookups")
+    void returnedProductsAreCopies() {
+        ProductCache cache = new ProductCache(60_000, 10);
+        ProductResponse loaded = product("Sate");
+        ProductResponse first = cache.get(ID, id -> loaded);
+        assertSame(loaded, first);
+
+        first.setName("changed by caller");
+        ProductResponse second = cache.get(ID, id -> product("reloaded"));
+        second.setPrice(1.0);
+
+        assertNotSame(second, cache.get(ID, id -> product("reloaded")));
+        assertEquals(product("Sate"), cache.get(ID, id -> product("reloaded")));
+        assertEquals(3, cache.getHits());
+    }
+
+    @Test
+    @Description("Expired entries and \"Product not found\" answers are loaded again")
+    void expiredAndNotFoundAreNotServed() throws InterruptedException {
+        ProductCache cache = new ProductCache(1, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(ID, id -> {
+            loads.incrementAndGet();
+            return product("Sate");
+        });
+        Thread.sleep(5);
+        cache.get(ID, id -> {
+            loads.incrementAndGet();
+            return ProductResponse.builder().message(ApiResponseException.NOT_FOUND_MESSAGE).build();
+        });
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @Description("An update landing while a lookup is loading keeps the pre-write value out of the cache")
+    void invalidationDuringLoadIsNotLost() throws Exception {
+        ProductCache cache = new ProductCache(60_000, 10);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        CompletableFuture<ProductResponse> lookup = CompletableFuture.supplyAsync(() -> cache.get(ID, id -> {
+            loading.countDown();
+            try {
+                assertTrue(written.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return product("before update");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidate(ID);
+        written.countDown();
+
+        assertEquals("before update", lookup.get(5, TimeUnit.SECONDS).getName());
+        assertEquals(0, cache.size());
+        assertEquals("after update", cache.get(ID, id -> product("after update")).getName());
+    }
+
+    @Test
+    @Description("The least recently used entry is evicted past maxEntries")
+    void evictsLeastRecentlyUsed() {
+        ProductCache cache = new ProductCache(60_000, 2);
+        String[] ids = {"65f1c2a4b7e9d01234567891", "65f1c2a4b7e9d01234567892", "65f1c2a4b7e9d01234567893"};
+        for (String id : ids) {
+            cache.get(id, key -> ProductResponse.builder().id(key).build());
+        }
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+}
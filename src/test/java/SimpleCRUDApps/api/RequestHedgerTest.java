@@ -0,0 +1,114 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Epic("API Client")
+@Feature("Request Hedging")
+public class RequestHedgerTest {
+
+    // No latency samples yet, so every endpoint waits the 30 ms default before hedging; no cap on hedges
+    private final RequestHedger hedger = new RequestHedger(95, 10, 30, 100);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @AfterEach
+    void close() {
+        release.countDown();
+        hedger.close();
+        ApiCapture.discard();
+    }
+
+    // The first attempt hangs until release, later attempts answer at once
+    private Supplier<String> slowFirstAttempt() {
+        return () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "primary";
+            }
+            return "hedge";
+        };
+    }
+
+    @Test
+    @Description("A call answering within the hedge delay is sent once")
+    void fastCallIsNotHedged() {
+        assertEquals("ok", hedger.execute(Endpoint.GET_BY_ID, () -> "ok"));
+        assertEquals(1, hedger.getRequests());
+        assertEquals(0, hedger.getHedgesFired());
+    }
+
+    @Test
+    @Description("A call slower than the hedge delay gets a second attempt, and the first to succeed is returned")
+    void slowCallIsWonByTheHedge() {
+        assertEquals("hedge", hedger.execute(Endpoint.GET_BY_ID, slowFirstAttempt()));
+        assertEquals(2, attempts.get());
+        assertEquals(1, hedger.getHedgesFired());
+        assertEquals(1, hedger.getHedgesWon());
+    }
+
+    @Test
+    @Description("Without budget for a hedge the caller waits for the first attempt")
+    void deniedHedgeWaitsForThePrimary() {
+        try (RequestHedger capped = new RequestHedger(95, 10, 30, 0)) {
+            assertEquals("hedge", capped.execute(Endpoint.GET_BY_ID, slowFirstAttempt()), "spends the initial token");
+            assertEquals("primary", capped.execute(Endpoint.GET_BY_ID, () -> {
+                sleep(100);
+                return "primary";
+            }));
+            assertEquals(1, capped.getHedgesFired());
+            assertEquals(1, capped.getHedgesDenied());
+        }
+    }
+
+    @Test
+    @Description("Both attempts failing surfaces the failure to the caller")
+    void failureOfBothAttemptsIsRethrown() {
+        assertThrows(IllegalStateException.class, () -> hedger.execute(Endpoint.GET_BY_ID, () -> {
+            throw new IllegalStateException("down");
+        }));
+    }
+
+    @Test
+    @Description("Attempts run with the caller's deadline, per-test metrics and capture ring")
+    void attemptsRunInTheCallersContext() {
+        ApiMetrics.beginTest();
+        try (Deadline.Scope scope = Deadline.open("hedged", Duration.ofSeconds(5))) {
+            ApiMetrics testMetrics = ApiMetrics.currentTest();
+            hedger.execute(Endpoint.GET_BY_ID, () -> {
+                assertSame(scope.deadline(), Deadline.current());
+                assertSame(testMetrics, ApiMetrics.currentTest());
+                ApiCapture.capture("GET /api/products/1");
+                return "ok";
+            });
+            assertEquals(1, ApiCapture.pending());
+        } finally {
+            ApiMetrics.endTest();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Retry Budget")
+public class RetryBudgetTest {
+
+    @Test
+    @Description("The initial tokens are spent first, then retries are denied")
+    void initialTokensThenDenied() {
+        RetryBudget budget = new RetryBudget(0.1, 2, 10);
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+        assertEquals(2, budget.getRetries());
+        assertEquals(1, budget.getDenied());
+    }
+
+    @Test
+    @Description("Each request earns budgetRatio of a retry, so 10% allows one retry per 10 requests")
+    void requestsEarnRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 0, 10);
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryAcquireRetry());
+        budget.onRequest();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    @Description("Tokens never exceed the cap, however long the backend was healthy")
+    void tokensAreCapped() {
+        RetryBudget budget = new RetryBudget(1, 0, 3);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+        int granted = 0;
+        while (budget.tryAcquireRetry()) {
+            granted++;
+        }
+        assertEquals(3, granted);
+    }
+}
@@ -0,0 +1,76 @@
+package SimpleCRUDApps.api;
+
+import SimpleCRUDApps.model.ProductBatch;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Streaming List")
+public class ServiceStreamingTest {
+
+    @BeforeEach
+    void beginTest() {
+        ApiMetrics.beginTest();
+        ApiCapture.discard();
+    }
+
+    @AfterEach
+    void endTest() {
+        ApiMetrics.endTest();
+        ApiCapture.discard();
+    }
+
+    @Test
+    @Description("A streamed list is recorded in the test's metrics once read, and captured for failure logging")
+    void streamedListIsMeasuredAndCaptured() {
+        try (ProductStubServer stub = ProductStubServer.builder().build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 2)) {
+            Service service = new Service(client);
+            service.createProduct(ProductRequest.builder().name("Bakso").price(5000).quantity(1).build());
+
+            ProductBatch batch = service.getProductBatch();
+
+            assertEquals(1, batch.size());
+            ApiMetrics metrics = ApiMetrics.currentTest();
+            assertEquals(Map.of(200, 1L), metrics.statusCodes(Endpoint.LIST));
+            assertTrue(metrics.responseBytes(Endpoint.LIST) > 0);
+            if (ApiLogMode.current() == ApiLogMode.ON_FAILURE) {
+                assertTrue(ApiCapture.peek().stream().anyMatch(exchange -> exchange.startsWith(">>> GET " + stub.getBaseUrl())));
+            }
+        }
+    }
+
+    @Test
+    @Description("Backend 500s on the streamed list are retried within the budget and open the circuit")
+    void streamedListGoesThroughTheCircuitBreaker() {
+        try (ProductStubServer stub = ProductStubServer.builder().errorRate(1).build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 2)) {
+            Service service = new Service(client);
+
+            ApiResponseException error = assertThrows(ApiResponseException.class, service::getProductBatch);
+            assertEquals(500, error.getStatusCode());
+            assertTrue(client.getRetryBudget().getRetries() > 0);
+            assertTrue(stub.getRequestsServed() > 1);
+            assertEquals(stub.getRequestsServed(), ApiMetrics.currentTest().statusCodes(Endpoint.LIST).get(500));
+
+            while (client.getCircuitBreaker().getState() == CircuitBreaker.State.CLOSED) {
+                assertThrows(ApiResponseException.class, () -> service.forEachProduct(product -> { }));
+            }
+            long served = stub.getRequestsServed();
+            assertThrows(BackendUnavailableException.class, service::streamAllProducts);
+            assertEquals(served, stub.getRequestsServed());
+        }
+    }
+}
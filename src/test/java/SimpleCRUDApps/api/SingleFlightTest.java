@@ -0,0 +1,117 @@
+package SimpleCRUDApps.api;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Single Flight")
+public class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void releaseLeader() {
+        release.countDown();
+    }
+
+    // Blocks until release, so callers arriving meanwhile find it in flight
+    private Supplier<String> slowCall(String result) {
+        return () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+
+    private CompletableFuture<String> startLeader() throws InterruptedException {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("list", slowCall("leader"), () -> { }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    @Test
+    @Description("A caller arriving while an identical call is in flight shares its result")
+    void joinerSharesTheLeadersResult() throws Exception {
+        CompletableFuture<String> leader = startLeader();
+        CompletableFuture<String> joiner = CompletableFuture.supplyAsync(() -> flight.execute("list", slowCall("joiner"), () -> { }));
+        while (flight.getCollapsed() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("leader", joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    @Description("After forgetAll (a write) a new caller starts its own call instead of joining an older one")
+    void forgetAllStartsFreshCalls() throws Exception {
+        CompletableFuture<String> leader = startLeader();
+        flight.forgetAll();
+        assertEquals("fresh", flight.execute("list", () -> "fresh", () -> { }));
+        assertEquals(0, flight.getCollapsed());
+        release.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Description("A joiner gives up when its own deadline runs out, however long the leader takes")
+    void joinerHonoursItsOwnDeadline() throws Exception {
+        CompletableFuture<String> leader = startLeader();
+        long start = System.nanoTime();
+        try (Deadline.Scope ignored = Deadline.open("joiner", Duration.ofMillis(100))) {
+            assertThrows(DeadlineExceededException.class, () -> flight.execute("list", () -> "unused", () -> { }));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+        assertFalse(leader.isDone());
+    }
+
+    @Test
+    @Description("When the leader runs out of its budget the joiner runs the call itself")
+    void leaderDeadlineIsNotInherited() throws Exception {
+        CountDownLatch joined = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> {
+            try (Deadline.Scope scope = Deadline.open("leader", Duration.ofMillis(1))) {
+                return flight.execute("list", () -> {
+                    leaderStarted.countDown();
+                    try {
+                        joined.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw scope.deadline().exceeded("GET /api/products", null);
+                }, () -> { });
+            }
+        });
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        String result = flight.execute("list", () -> "own call", joined::countDown);
+
+        assertEquals("own call", result);
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,28 @@
+package SimpleCRUDApps.codegen;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Class shape for {@link JsonCodecProcessorTest}: NON_NULL on the type, overridden to ALWAYS on one field
+ */
+@GenerateJsonCodec
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CodecEdgeBean {
+    @JsonProperty("__v")
+    private Integer version;
+    private int primitive;
+    private Boolean enabled;
+    private Long big;
+    @JsonInclude(JsonInclude.Include.ALWAYS)
+    private String alwaysShown;
+    @JsonIgnore
+    private String internal;
+}
@@ -0,0 +1,24 @@
+package SimpleCRUDApps.codegen;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Record shape for {@link JsonCodecProcessorTest}: rename, primitives, boxes, a NON_NULL component and an ignored one
+ */
+@GenerateJsonCodec
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CodecEdgeRecord(
+        @JsonProperty("_id") String id,
+        int count,
+        long total,
+        double ratio,
+        boolean active,
+        Integer boxed,
+        Boolean flag,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String note,
+        @JsonIgnore String secret
+) {
+}
@@ -0,0 +1,97 @@
+package SimpleCRUDApps.codegen;
+
+import SimpleCRUDApps.api.Json;
+import SimpleCRUDApps.api.JsonCodecs;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Epic("Models")
+@Feature("JSON Codecs")
+public class JsonCodecProcessorTest {
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <T> void assertReadsLikeDatabind(String json, Class<T> type) throws IOException {
+        assertEquals(Json.MAPPER.readValue(utf8(json), type), JsonCodecs.read(utf8(json), type), json);
+    }
+
+    // Same fields and values; databind may order renamed properties differently
+    private static void assertWritesLikeDatabind(Object value) throws IOException {
+        assertEquals(Json.MAPPER.readTree(Json.MAPPER.writeValueAsBytes(value)), Json.MAPPER.readTree(JsonCodecs.write(value)));
+    }
+
+    @Test
+    @Description("A record codec honors renames, primitives, a NON_NULL component and an ignored one like databind")
+    void recordMatchesDatabind() throws IOException {
+        assertNotNull(JsonCodecs.codecFor(CodecEdgeRecord.class));
+        assertReadsLikeDatabind("{\"_id\":\"a1\",\"count\":3,\"total\":5000000000,\"ratio\":0.25,\"active\":true,"
+                + "\"boxed\":7,\"flag\":false,\"note\":\"n\",\"secret\":\"s\",\"extra\":{\"x\":[1]}}", CodecEdgeRecord.class);
+        assertReadsLikeDatabind("{\"count\":null,\"boxed\":null,\"id\":\"not-renamed\"}", CodecEdgeRecord.class);
+        assertReadsLikeDatabind("{}", CodecEdgeRecord.class);
+
+        assertWritesLikeDatabind(new CodecEdgeRecord("a1", 3, 5_000_000_000L, 0.25, true, 7, false, "n", "s"));
+        assertWritesLikeDatabind(new CodecEdgeRecord(null, 0, 0, 0, false, null, null, null, null));
+        assertEquals("{\"_id\":null,\"count\":0,\"total\":0,\"ratio\":0.0,\"active\":false,\"boxed\":null,\"flag\":null}",
+                new String(JsonCodecs.write(new CodecEdgeRecord(null, 0, 0, 0, false, null, null, null, "s")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @Description("A class codec honors NON_NULL on the type, ALWAYS on a field, renames and @JsonIgnore like databind")
+    void classMatchesDatabind() throws IOException {
+        assertNotNull(JsonCodecs.codecFor(CodecEdgeBean.class));
+        assertReadsLikeDatabind("{\"__v\":2,\"primitive\":4,\"enabled\":true,\"big\":9,\"alwaysShown\":\"a\",\"internal\":\"i\"}",
+                CodecEdgeBean.class);
+
+        assertWritesLikeDatabind(new CodecEdgeBean(2, 4, true, 9L, "a", "i"));
+        assertWritesLikeDatabind(new CodecEdgeBean());
+        assertEquals("{\"primitive\":0,\"alwaysShown\":null}", new String(JsonCodecs.write(new CodecEdgeBean()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @Description("Scalars take the coercions databind allows: quoted numbers, truncated floats, blank strings as null, 0/1 booleans")
+    void scalarCoercionsMatchDatabind() throws IOException {
+        for (String json : List.of(
+                "{\"count\":\"12\",\"boxed\":\" 12 \",\"total\":\"5\",\"ratio\":\"1.5\"}",
+                "{\"count\":12.7,\"boxed\":1e2,\"total\":1.5,\"ratio\":3}",
+                "{\"count\":\"\",\"boxed\":\"\",\"ratio\":\"\",\"flag\":\"\",\"active\":\"\"}",
+                "{\"active\":1,\"flag\":0}",
+                "{\"active\":\"True\",\"flag\":\"false\"}",
+                "{\"_id\":12,\"note\":true}",
+                "{\"_id\":1.50}")) {
+            assertReadsLikeDatabind(json, CodecEdgeRecord.class);
+        }
+    }
+
+    @Test
+    @Description("A token databind would not coerce fails the read instead of decoding as 0 or false")
+    void mismatchedTokensFailLikeDatabind() {
+        for (String json : List.of(
+                "{\"count\":\"abc\"}",
+                "{\"boxed\":true}",
+                "{\"boxed\":{}}",
+                "{\"boxed\":[1]}",
+                "{\"boxed\":3000000000}",
+                "{\"boxed\":\"12.5\"}",
+                "{\"ratio\":true}",
+                "{\"ratio\":\"x\"}",
+                "{\"flag\":\"yes\"}",
+                "{\"flag\":1.0}",
+                "{\"note\":{}}",
+                "{\"_id\":[\"a\"]}")) {
+            assertThrows(IOException.class, () -> Json.MAPPER.readValue(utf8(json), CodecEdgeRecord.class), json);
+            assertThrows(IOException.class, () -> JsonCodecs.read(utf8(json), CodecEdgeRecord.class), json);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package SimpleCRUDApps.load;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.Service;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Load")
+@Feature("Scenarios")
+public class ScenarioTest {
+
+    @Test
+    @Description("Operations are drawn in proportion to their weights, zero-weight operations never")
+    void operationsFollowTheirWeights() {
+        Scenario scenario = Scenario.named("mix")
+                .operation(ScenarioOperation.GET_BY_ID, 70)
+                .operation(ScenarioOperation.LIST, 20)
+                .operation(ScenarioOperation.UPDATE, 10)
+                .operation(ScenarioOperation.CREATE_DELETE, 0)
+                .steady(Duration.ofSeconds(1), 1)
+                .build();
+        int draws = 100_000;
+        Map<ScenarioOperation, Integer> counts = new EnumMap<>(ScenarioOperation.class);
+        for (int i = 0; i < draws; i++) {
+            counts.merge(scenario.nextOperation(), 1, Integer::sum);
+        }
+        assertEquals(0.70, counts.get(ScenarioOperation.GET_BY_ID) / (double) draws, 0.01);
+        assertEquals(0.20, counts.get(ScenarioOperation.LIST) / (double) draws, 0.01);
+        assertEquals(0.10, counts.get(ScenarioOperation.UPDATE) / (double) draws, 0.01);
+        assertEquals(0, counts.getOrDefault(ScenarioOperation.CREATE_DELETE, 0));
+    }
+
+    @Test
+    @Description("A phase ramps its users linearly from the previous phase's count to its target")
+    void phasesRampUsersLinearly() {
+        Scenario scenario = Scenario.readHeavy()
+                .rampUp(Duration.ofSeconds(10), 20).steady(Duration.ofSeconds(10)).rampDown(Duration.ofSeconds(10))
+                .build();
+        Scenario.Phase rampUp = scenario.getPhases().get(0);
+        Scenario.Phase rampDown = scenario.getPhases().get(2);
+        assertEquals(0, rampUp.usersAt(0));
+        assertEquals(10, rampUp.usersAt(Duration.ofSeconds(5).toNanos()));
+        assertEquals(20, rampUp.usersAt(Duration.ofSeconds(30).toNanos()));
+        assertEquals(20, scenario.getPhases().get(1).usersAt(Duration.ofSeconds(5).toNanos()));
+        assertEquals(5, rampDown.usersAt(Duration.ofMillis(7500).toNanos()));
+        assertEquals(20, scenario.getMaxUsers());
+        assertEquals(Duration.ofSeconds(30), scenario.getTotalDuration());
+    }
+
+    @Test
+    @Description("A scenario without weighted operations, phases or the seeds its operations need is rejected")
+    void invalidScenariosAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Scenario.named("empty")
+                .operation(ScenarioOperation.LIST, 0).steady(Duration.ofSeconds(1), 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Scenario.named("no phases")
+                .operation(ScenarioOperation.LIST, 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Scenario.named("no seeds")
+                .operation(ScenarioOperation.GET_BY_ID, 1).seedProducts(0).steady(Duration.ofSeconds(1), 1).build());
+        assertThrows(IllegalArgumentException.class, () -> Scenario.named("negative")
+                .operation(ScenarioOperation.LIST, -1));
+    }
+
+    @Test
+    @Description("A run against the stub records each operation under its phase in the weighted mix, and cleans up its seeds")
+    void runnerRecordsTheWeightedMixPerPhase() {
+        try (ProductStubServer stub = ProductStubServer.builder().build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 4)) {
+            Scenario scenario = Scenario.named("stub")
+                    .operation(ScenarioOperation.GET_BY_ID, 9)
+                    .operation(ScenarioOperation.LIST, 1)
+                    .seedProducts(3)
+                    .thinkTime(Duration.ofMillis(5), Duration.ofMillis(5))
+                    .steady(Duration.ofMillis(1500), 2)
+                    .phase("idle", Duration.ofMillis(300), 0)
+                    .build();
+
+            ScenarioReport report = new ScenarioRunner(new Service(client)).run(scenario);
+
+            ScenarioReport.PhaseResult steady = report.getPhases().get(0);
+            long gets = steady.operations().get(ScenarioOperation.GET_BY_ID).calls();
+            long lists = steady.operations().get(ScenarioOperation.LIST).calls();
+            assertTrue(gets + lists >= 10, "only " + (gets + lists) + " calls");
+            assertTrue(gets > lists, gets + " GETs vs " + lists + " lists");
+            assertEquals(0, steady.errors());
+            assertEquals(0, steady.operations().get(ScenarioOperation.UPDATE).calls());
+            assertEquals(0, stub.getProductCount());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package SimpleCRUDApps.model;
+
+import SimpleCRUDApps.api.ProductJsonStream;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Models")
+@Feature("Product Batch")
+public class ProductBatchTest {
+
+    private static final String FIRST = "66321642a1b2c3d4e5f60701";
+    private static final String SECOND = "66321642a1b2c3d4e5f60702";
+
+    private static ProductBatch read(String json) {
+        return ProductJsonStream.readBatch(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @Description("Every listed product becomes one row answering aggregates, filters and id lookups")
+    void rowsAnswerAggregatesAndLookups() {
+        ProductBatch batch = read("[" +
+                "{\"_id\":\"" + FIRST + "\",\"name\":\"Bakso 1\",\"quantity\":2,\"price\":5000,\"image\":{\"url\":\"x\"},"
+                + "\"createdAt\":\"2024-05-01T10:15:30.123Z\",\"__v\":0}," +
+                "{\"_id\":\"" + SECOND + "\",\"name\":\"Soto\",\"quantity\":3,\"price\":12000.0,\"__v\":1}]");
+
+        assertEquals(2, batch.size());
+        assertEquals(17000, batch.sumPrice());
+        assertEquals(12000, batch.maxPrice());
+        assertEquals(5000 * 2 + 12000 * 3, batch.inventoryValue());
+        assertArrayEquals(new int[]{0}, batch.filterByNamePrefix("Bakso "));
+        assertArrayEquals(new int[]{1}, batch.filterByPrice(10000, 20000));
+
+        int row = batch.indexOf(ProductId.parse(SECOND));
+        assertEquals(1, row);
+        assertEquals("Soto", batch.name(row));
+        assertEquals(SECOND, batch.get(row)._id());
+        assertEquals(1714558530123L, batch.createdAtMillis(0));
+        assertEquals(ProductBatch.NO_TIMESTAMP, batch.createdAtMillis(1));
+    }
+
+    @Test
+    @Description("A fractional or quoted price fails the read instead of being truncated")
+    void nonWholePricesAreRejected() {
+        UncheckedIOException fractional = assertThrows(UncheckedIOException.class,
+                () -> read("[{\"_id\":\"" + FIRST + "\",\"name\":\"Kopi\",\"price\":12.5}]"));
+        assertTrue(fractional.getCause().getMessage().contains("'price'"), fractional.getCause().getMessage());
+        assertThrows(UncheckedIOException.class, () -> read("[{\"_id\":\"" + FIRST + "\",\"price\":\"12\"}]"));
+        assertThrows(UncheckedIOException.class, () -> read("[{\"_id\":\"" + FIRST + "\",\"quantity\":3000000000}]"));
+    }
+
+    @Test
+    @Description("Rows without an ObjectId are kept and flagged, and never match an id lookup")
+    void rowsWithoutObjectIdAreFlagged() {
+        ProductBatch batch = read("[" +
+                "{\"_id\":\"legacy-1\",\"name\":\"Legacy\",\"price\":1}," +
+                "{\"name\":\"No id\",\"price\":2}," +
+                "{\"_id\":\"" + FIRST + "\",\"name\":\"Bakso\",\"price\":3}]");
+
+        assertEquals(3, batch.size());
+        assertEquals(2, batch.rowsWithoutId());
+        assertNull(batch.id(0));
+        assertNull(batch.get(1)._id());
+        assertEquals(-1, batch.indexOf(ProductId.of(0, 0)));
+        assertEquals(2, batch.indexOf(ProductId.parse(FIRST)));
+    }
+}
@@ -0,0 +1,81 @@
+package SimpleCRUDApps.model;
+
+import SimpleCRUDApps.api.Json;
+import SimpleCRUDApps.api.JsonCodecs;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Epic("Models")
+@Feature("Product IDs")
+public class ProductIdTest {
+
+    // 2024-05-01T10:15:30Z followed by an 8-byte tail
+    private static final String HEX = "66321642a1b2c3d4e5f60718";
+
+    @Test
+    @Description("Product ids round-trip through hex and JSON and expose their creation time")
+    void roundTripsThroughHexAndJson() throws Exception {
+        ProductId id = ProductId.parse(HEX);
+        assertEquals(HEX, id.toHexString());
+        assertEquals(id, ProductId.parse(id.toHexString()));
+        assertEquals("\"" + HEX + "\"", Json.MAPPER.writeValueAsString(id));
+        assertEquals(id, Json.MAPPER.readValue(Json.MAPPER.writeValueAsBytes(id), ProductId.class));
+        assertEquals(Instant.parse("2024-05-01T10:15:30Z"), id.getTimestamp());
+        assertEquals(id, ProductId.tryParse(HEX.getBytes(StandardCharsets.US_ASCII), 0, ProductId.HEX_LENGTH));
+    }
+
+    @Test
+    @Description("Anything but 24 hex characters is not a product id")
+    void rejectsMalformedIds() {
+        assertNull(ProductId.tryParse("not-an-id"));
+        assertNull(ProductId.tryParse(HEX.substring(1)));
+        assertNull(ProductId.tryParse(HEX.replace('a', 'g')));
+        assertNull(ProductId.tryParse((CharSequence) null));
+        assertFalse(ProductId.isValid(HEX + "0"));
+        assertThrows(IllegalArgumentException.class, () -> ProductId.parse("not-an-id"));
+    }
+
+    @Test
+    @Description("Only ASCII hex is accepted: Unicode digits and fullwidth letters are not an ObjectId")
+    void rejectsNonAsciiDigits() {
+        for (char c : new char[]{'\uFF10', '\u0663', '\uFF21', '\uFF41'}) {
+            String hex = c + HEX.substring(1);
+            assertNull(ProductId.tryParse(hex), hex);
+            assertNull(ProductId.tryParse(hex.toCharArray(), 0, hex.length()), hex);
+            assertFalse(ProductId.isValid(hex), hex);
+        }
+        byte[] bytes = HEX.getBytes(StandardCharsets.US_ASCII);
+        bytes[5] = (byte) 0xB3;
+        assertNull(ProductId.tryParse(bytes, 0, bytes.length));
+        assertEquals(ProductId.parse(HEX), ProductId.parse(HEX.toUpperCase()));
+    }
+
+    @Test
+    @Description("The models keep _id as the backend's string; the ProductId accessors are extra and never serialized")
+    void modelsKeepStringIds() throws Exception {
+        byte[] body = "{\"_id\":\"legacy-1\",\"name\":\"Soto Ayam\",\"price\":18000}".getBytes(StandardCharsets.UTF_8);
+
+        Product product = Json.MAPPER.readValue(body, Product.class);
+        assertEquals("legacy-1", product._id());
+        assertNull(product.productId());
+        assertEquals("legacy-1", JsonCodecs.read(body, Product.class)._id());
+
+        ProductResponse response = Json.MAPPER.readValue(body, ProductResponse.class);
+        assertEquals("legacy-1", response.getId());
+        assertNull(response.getProductId());
+
+        ProductResponse valid = ProductResponse.builder().id(HEX).build();
+        assertEquals(ProductId.parse(HEX), valid.getProductId());
+        assertFalse(Json.MAPPER.writeValueAsString(valid).contains("productId"));
+    }
+}
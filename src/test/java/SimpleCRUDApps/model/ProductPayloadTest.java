@@ -0,0 +1,56 @@
+package SimpleCRUDApps.model;
+
+import SimpleCRUDApps.api.Json;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Models")
+@Feature("Product Payload")
+public class ProductPayloadTest {
+
+    @Test
+    @Description("A payload is serialized once, replayed as the same bytes, and omits null fields like ProductRequest")
+    void serializedOnceAndReplayed() throws Exception {
+        ProductPayload payload = ProductPayload.of("Es Cendol", null, 7000);
+
+        assertEquals("{\"name\":\"Es Cendol\",\"price\":7000}", payload.toString());
+        assertArrayEquals(Json.MAPPER.writeValueAsBytes(payload.toRequest()), payload.toBody());
+        assertSame(payload.toBody(), payload.toBody());
+        assertEquals(payload.toString().length(), payload.getJsonLength());
+    }
+
+    @Test
+    @Description("A payload snapshots the request, so later changes to the request are not sent")
+    void snapshotsTheRequest() {
+        ProductRequest request = ProductRequest.builder().name("Kopi \"Tubruk\"").quantity(2).price(8000).build();
+        ProductPayload payload = ProductPayload.of(request);
+        request.setPrice(9000);
+
+        assertEquals(8000, payload.getPrice());
+        assertEquals(ProductPayload.of("Kopi \"Tubruk\"", 2, 8000), payload);
+        assertEquals("{\"name\":\"Kopi \\\"Tubruk\\\"\",\"quantity\":2,\"price\":8000}",
+                new String(payload.toBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @Description("One-shot payloads send the same bytes but are counted apart from the replay savings")
+    void oneShotPayloadsAreCountedApart() {
+        ProductRequest request = ProductRequest.builder().name("Soto").price(18000).build();
+        long oneShotBefore = ProductPayload.getOneShot();
+
+        ProductPayload once = ProductPayload.oneShot(request);
+
+        assertArrayEquals(ProductPayload.of(request).toBody(), once.toBody());
+        assertTrue(ProductPayload.getOneShot() > oneShotBefore);
+        assertTrue(ProductPayload.savingsReport().contains("one-shot"), ProductPayload.savingsReport());
+    }
+}
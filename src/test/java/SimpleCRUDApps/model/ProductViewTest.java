@@ -0,0 +1,67 @@
+package SimpleCRUDApps.model;
+
+import SimpleCRUDApps.api.Json;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Models")
+@Feature("Product View")
+public class ProductViewTest {
+
+    private static final String HEX = "66321642a1b2c3d4e5f60718";
+
+    private static byte[] utf8(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @Description("The lazy view over the raw bytes reads the same fields as full databind")
+    void matchesDatabind() throws Exception {
+        byte[] body = utf8("{ \"_id\" : \"" + HEX + "\", \"name\":\"Kopi \\\"Tubruk\\\" \\u00e9 è\",\"quantity\":6,"
+                + "\"price\":-8000,\"image\":\"https://cdn/x.png\",\"tags\":[{\"a\":\"}\"},\"]\"],"
+                + "\"createdAt\":\"2024-05-01T10:15:30.123Z\",\"updatedAt\":\"2024-05-01T10:15:30.123Z\",\"__v\":0}");
+
+        ProductView view = ProductView.of(body);
+
+        assertEquals("Kopi \"Tubruk\" é è", view.name());
+        assertEquals(-8000, view.price());
+        assertEquals(ProductId.parse(HEX), view.productId());
+        assertEquals(Json.MAPPER.readValue(body, Product.class), view.toProduct());
+    }
+
+    @Test
+    @Description("Missing and null fields read as null, has() tells them apart")
+    void missingAndNullFields() throws Exception {
+        byte[] body = utf8("{\"_id\":\"legacy-1\",\"name\":null,\"price\":100}");
+
+        ProductView view = ProductView.of(body);
+
+        assertNull(view.name());
+        assertTrue(view.has("name"));
+        assertNull(view.quantity());
+        assertFalse(view.has("quantity"));
+        assertEquals("legacy-1", view._id());
+        assertNull(view.productId());
+        assertEquals(Json.MAPPER.readValue(body, Product.class), view.toProduct());
+        assertEquals(new Product(null, null, null, null, null, null, null, null), ProductView.of(utf8("{ }")).toProduct());
+    }
+
+    @Test
+    @Description("Anything but a well-formed JSON object is rejected up front")
+    void rejectsMalformedJson() {
+        assertThrows(IllegalArgumentException.class, () -> ProductView.of(utf8("[]")));
+        assertThrows(IllegalArgumentException.class, () -> ProductView.of(utf8("{\"name\":\"open")));
+        assertThrows(IllegalArgumentException.class, () -> ProductView.of(utf8("{\"price\":1 \"name\":\"x\"}")));
+        assertThrows(IllegalArgumentException.class, () -> ProductView.of(utf8("{\"price\":}")));
+    }
+}
@@ -0,0 +1,34 @@
+package base;
+
+import SimpleCRUDApps.api.ApiCapture;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+/**
+ * Writes the captured API exchanges of a failed test to the log and Allure, drops them for passing tests
+ * Only has an effect in failure-only logging mode (the default, see ApiLogMode)
+ */
+public class ApiCaptureWatcher implements BeforeEachCallback, TestWatcher {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        // Start every test with an empty ring so a dump only shows this test's traffic
+        ApiCapture.discard();
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        ApiCapture.discard();
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        ApiCapture.dump("Test failed: " + context.getDisplayName());
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        ApiCapture.discard();
+    }
+}
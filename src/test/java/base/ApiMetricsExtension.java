@@ -0,0 +1,26 @@
+package base;
+
+import SimpleCRUDApps.api.ApiMetrics;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Attaches the API calls a test made (latency, status codes, payload sizes per endpoint) to its Allure result
+ */
+public class ApiMetricsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ApiMetrics.beginTest();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ApiMetrics metrics = ApiMetrics.endTest();
+        if (metrics != null && metrics.getCalls() > 0) {
+            Allure.addAttachment("API Metrics", "text/plain", metrics.toTable());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package base;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.ApiMetrics;
+import SimpleCRUDApps.api.OrphanSweeper;
+import SimpleCRUDApps.model.ProductPayload;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.nio.file.Path;
+
+/**
+ * Writes the run-wide API metrics to target/api-metrics/run-summary.json once the test plan finishes,
+ * after sweeping products the tests created and never deleted (-Dapi.sweep=false keeps them), followed by
+ * the request serialization time saved by replaying {@link ProductPayload}s
+ * Registered through META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ */
+public class ApiRunListener implements TestExecutionListener {
+
+    static final Path SUMMARY_FILE = Path.of("target", "api-metrics", "run-summary.json");
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (Boolean.parseBoolean(System.getProperty("api.sweep", "true"))) {
+            for (ApiClient client : ApiClient.sharedClients()) {
+                sweepOrphans(client);
+            }
+        }
+        ApiMetrics metrics = ApiMetrics.global();
+        if (metrics.getCalls() == 0) return;
+        metrics.writeJson(SUMMARY_FILE);
+        System.out.println("📊 API metrics for this run (" + SUMMARY_FILE + "):\n" + metrics.toTable());
+        if (ProductPayload.getSent() > 0) {
+            System.out.println(ProductPayload.savingsReport());
+        }
+    }
+
+    // Delete what failed tests left on the shared backend, so it does not grow run after run
+    private static void sweepOrphans(ApiClient client) {
+        if (client.getCreatedProducts().size() == 0) return;
+        try {
+            System.out.println("🧹 " + OrphanSweeper.sweep(client));
+        } catch (RuntimeException e) {
+            System.err.println("Orphan sweep of " + client.getBaseUrl() + " failed: " + e.getMessage());
+        }
+    }
+}
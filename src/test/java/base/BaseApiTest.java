@@ -1,39 +1,76 @@
 package base;
 
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.ApiLogMode;
+import SimpleCRUDApps.api.ApiWarmUp;
+import SimpleCRUDApps.stub.ProductStubServer;
 import config.TestConfig;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.filter.log.LogDetail;
-import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 /**
  * Base test class for API tests
  * Sets up RestAssured configuration and common test utilities
+ * API traffic is only logged for failing tests unless -Dapi.log=all
+ * With -Dapi.stub=true the tests run offline against an in-process ProductStubServer
+ * (-Dapi.stub.latencyMs, -Dapi.stub.jitterMs and -Dapi.stub.errorRate inject latency and failures)
+ * The base URL is warmed up once per JVM before the first test (-Dapi.warmup.requests=0 skips it)
+ * Each test runs inside a Deadline (-Dapi.test.deadlineMs), API calls time out when it is used up
  */
+@ExtendWith({ApiCaptureWatcher.class, ApiMetricsExtension.class, DeadlineExtension.class})
 public class BaseApiTest {
 
     protected static RequestSpecification requestSpec;
     public static String productId;
+    private static ProductStubServer stubServer;
+    private static String apiBaseUrl;
 
     @BeforeAll
     public static void setupBase() {
-        // Set base URI - using production URL from config
-        String baseUrl = System.getProperty("baseUrl", "https://simple-crud-apps.vercel.app");
+        // Set base URI - using production URL from config, or the local stub when requested
+        String baseUrl = Boolean.getBoolean("api.stub")
+                ? startStubServer()
+                : System.getProperty("baseUrl", "https://simple-crud-apps.vercel.app");
         RestAssured.baseURI = baseUrl;
+        apiBaseUrl = baseUrl;
 
-        // Create request specification
-        requestSpec = new RequestSpecBuilder()
-                .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .addFilter(new AllureRestAssured())
-                .log(LogDetail.ALL)
-                .build();
+        // Create request specification on top of the shared, pooled client for this base URL
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .addRequestSpecification(ApiClient.shared(baseUrl).spec())
+                .addFilter(new AllureRestAssured());
+        if (ApiLogMode.current() == ApiLogMode.ALL) {
+            builder.log(LogDetail.ALL);
+        }
+        requestSpec = builder.build();
 
         // Enable request and response logging
         RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+
+        // Pay connection set-up and cold start once per JVM, outside the measured tests
+        ApiWarmUp.ensureWarm(ApiClient.shared(baseUrl));
+    }
+
+    /**
+     * Start the in-process backend once per JVM and point -DbaseUrl at it, so Service/AsyncService follow
+     */
+    private static synchronized String startStubServer() {
+        if (stubServer == null) {
+            stubServer = ProductStubServer.builder()
+                    .latencyMillis(Long.getLong("api.stub.latencyMs", 0L))
+                    .latencyJitterMillis(Long.getLong("api.stub.jitterMs", 0L))
+                    .errorRate(Double.parseDouble(System.getProperty("api.stub.errorRate", "0")))
+                    .build()
+                    .start();
+            System.setProperty("baseUrl", stubServer.getBaseUrl());
+            Runtime.getRuntime().addShutdownHook(new Thread(stubServer::close, "product-stub-shutdown"));
+        }
+        return stubServer.getBaseUrl();
     }
 
     /**
@@ -44,13 +81,17 @@ public class BaseApiTest {
     }
 
     /**
-     * Wait for API to be ready (useful for CI/CD)
+     * Fail fast with "Backend unavailable" while the shared circuit breaker is open, before the test makes any call
+     */
+    @BeforeEach
+    void ensureApiAvailable() {
+        ApiClient.shared(apiBaseUrl).getCircuitBreaker().ensureAvailable();
+    }
+
+    /**
+     * Kept for existing @AfterEach hooks; never fails a test that already ran, the availability gate is
+     * {@link #ensureApiAvailable()} before each test
      */
     protected void waitForApiReady() {
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package base;
+
+import SimpleCRUDApps.api.Deadline;
+import SimpleCRUDApps.api.DeadlineExceededException;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+
+import java.time.Duration;
+
+/**
+ * Gives every API test a time budget (-Dapi.test.deadlineMs, default 60000) that bounds all its calls,
+ * so a hung socket fails the test in seconds instead of waiting for the 5 minute JUnit timeout
+ * A test that runs out of budget is reported with the step and call that hit the deadline
+ */
+public class DeadlineExtension implements BeforeEachCallback, AfterEachCallback, TestExecutionExceptionHandler {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DeadlineExtension.class);
+    private static final long BUDGET_MS = Long.getLong("api.test.deadlineMs", 60_000L);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("scope", Deadline.open(context.getDisplayName(), Duration.ofMillis(BUDGET_MS)));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Deadline.Scope scope = context.getStore(NAMESPACE).remove("scope", Deadline.Scope.class);
+        if (scope != null) {
+            scope.close();
+        }
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException exceeded) {
+                System.out.println("⏰ " + context.getDisplayName() + ": " + exceeded.getMessage());
+                Allure.addAttachment("Deadline Exceeded", "text/plain", exceeded.getMessage());
+                break;
+            }
+        }
+        throw throwable;
+    }
+}
@@ -1,8 +1,9 @@
 package base;
 
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.ApiLogMode;
 import config.TestConfig;
 import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -59,15 +60,14 @@ public class ParallelBaseTests implements WebDriverListener {
 
     /**
      * Get base request specification with common headers and content type
+     * Built on the shared pooled client, so connections are reused across threads
      *
      * @return RequestSpecification with default configuration
      */
     protected RequestSpecification getBaseRequestSpec() {
-        return RestAssured.given()
-                .contentType(ContentType.JSON)
-                .header("Accept", "application/json")
-                .header("User-Agent", "NicePay-API-Test/1.0")
-                .log().all();
+        RequestSpecification spec = ApiClient.shared(TestConfig.BASE_URL_DEV).given()
+                .header("User-Agent", "NicePay-API-Test/1.0");
+        return ApiLogMode.current() == ApiLogMode.ALL ? spec.log().all() : spec;
     }
 
     /**
@@ -0,0 +1,139 @@
+package ci;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.ApiMetrics;
+import SimpleCRUDApps.api.AsyncService;
+import SimpleCRUDApps.api.BulkProductService;
+import SimpleCRUDApps.api.ConditionalGetCache;
+import SimpleCRUDApps.api.Endpoint;
+import SimpleCRUDApps.api.JdkHttpTransport;
+import SimpleCRUDApps.api.Service;
+import SimpleCRUDApps.model.Product;
+import SimpleCRUDApps.model.ProductBatch;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.model.ProductResponse;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the product list contract (revalidation, compression, bulk reads) against the in-process stub, offline
+ */
+@Epic("CI Product Management")
+@Feature("Product API Stub")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProductListContractTest {
+
+    private ProductStubServer stub;
+    private ApiClient client;
+    private Service service;
+
+    @BeforeAll
+    void startStub() {
+        stub = ProductStubServer.builder().build().start();
+        client = ApiClient.open(stub.getBaseUrl(), 4);
+        service = new Service(client);
+    }
+
+    @AfterAll
+    void stopStub() {
+        client.close();
+        stub.close();
+    }
+
+    @Test
+    @Description("An unchanged product list is revalidated with its ETag and served from the parsed copy")
+    void unchangedListIsNotTransferredAgain() {
+        ConditionalGetCache cache = client.getConditionalGetCache();
+        List<Product> first = service.getProductList();
+        long notModified = cache.getNotModified();
+
+        List<Product> second = service.getProductList();
+        assertEquals(notModified + 1, cache.getNotModified());
+        assertSame(first, second);
+
+        Response created = service.createProduct(ProductRequest.builder().name("Es Teh").price(5000).quantity(3).build());
+        String id = created.jsonPath().getString("_id");
+        try {
+            List<Product> third = service.getProductList();
+            assertEquals(notModified + 1, cache.getNotModified());
+            assertTrue(third.stream().anyMatch(product -> id.equals(product._id())));
+        } finally {
+            service.deleteProduct(id);
+        }
+    }
+
+    @Test
+    @Description("Large product lists are sent gzip-compressed and decoded by both the RestAssured and JDK clients")
+    void largeListIsCompressed() {
+        List<ProductRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(ProductRequest.builder().name("Nasi Goreng " + i).price(20000 + i).quantity(i).build());
+        }
+        BulkProductService bulk = new BulkProductService(new AsyncService(client), 4);
+        List<String> ids = bulk.createProducts(requests).throwIfAnyFailed().getResponses().stream()
+                .map(ProductResponse::getId)
+                .toList();
+        try {
+            ApiMetrics metrics = ApiMetrics.global();
+            long decodedBefore = metrics.responseBytes(Endpoint.LIST);
+            long wireBefore = metrics.responseWireBytes(Endpoint.LIST);
+
+            service.getAllProducts().then().statusCode(200).body("size()", greaterThanOrEqualTo(20));
+            assertTrue(metrics.responseWireBytes(Endpoint.LIST) - wireBefore < metrics.responseBytes(Endpoint.LIST) - decodedBefore,
+                    "List response was not compressed on the wire");
+
+            List<Product> viaJdk = new JdkHttpTransport(client).getAllProducts();
+            assertTrue(viaJdk.stream().map(Product::_id).collect(Collectors.toSet()).containsAll(ids));
+        } finally {
+            bulk.deleteProducts(ids);
+        }
+    }
+
+    @Test
+    @Description("The columnar batch holds every listed product and answers aggregates and lookups")
+    void productBatchAuditsWholeListing() {
+        List<ProductRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(ProductRequest.builder().name("Bakso " + (i % 3)).price(1000 * (i + 1)).quantity(2).build());
+        }
+        BulkProductService bulk = new BulkProductService(new AsyncService(client), 4);
+        List<String> ids = bulk.createProducts(requests).throwIfAnyFailed().getResponses().stream()
+                .map(ProductResponse::getId)
+                .toList();
+        try {
+            ProductBatch batch = service.getProductBatch();
+            List<Product> products = service.getProductList();
+            assertEquals(products.size(), batch.size());
+            assertEquals(0, batch.rowsWithoutId());
+            assertEquals(products.stream().mapToLong(Product::price).sum(), batch.sumPrice());
+            assertEquals(products.stream().mapToInt(Product::price).max().orElseThrow(), batch.maxPrice());
+            assertTrue(batch.filterByNamePrefix("Bakso ").length >= ids.size());
+
+            int row = batch.indexOf(ProductId.parse(ids.get(4)));
+            assertTrue(row >= 0);
+            assertEquals(5000, batch.price(row));
+            assertEquals("Bakso 1", batch.name(row));
+            assertEquals(ids.get(4), batch.get(row)._id());
+            assertTrue(batch.createdAtMillis(row) != ProductBatch.NO_TIMESTAMP);
+        } finally {
+            bulk.deleteProducts(ids);
+        }
+    }
+}
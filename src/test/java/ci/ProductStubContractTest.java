@@ -0,0 +1,73 @@
+package ci;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.Service;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Runs the CRUD contract the live tests rely on against the in-process stub, offline
+ */
+@Epic("CI Product Management")
+@Feature("Product API Stub")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProductStubContractTest {
+
+    private ProductStubServer stub;
+    private ApiClient client;
+    private Service service;
+
+    @BeforeAll
+    void startStub() {
+        stub = ProductStubServer.builder().build().start();
+        client = ApiClient.open(stub.getBaseUrl(), 4);
+        service = new Service(client);
+    }
+
+    @AfterAll
+    void stopStub() {
+        client.close();
+        stub.close();
+    }
+
+    @Test
+    @Description("Create, read, update and delete follow the deployed backend's contract")
+    void crudContract() {
+        Response created = service.createProduct(ProductRequest.builder().name("Mie Ayam").price(10000).quantity(12).build());
+        created.then().statusCode(200)
+                .body("_id", matchesPattern("[a-f0-9]{24}"))
+                .body("__v", equalTo(0))
+                .body("createdAt", notNullValue());
+        String id = created.jsonPath().getString("_id");
+
+        service.getProductById(id).then().statusCode(200).body("name", equalTo("Mie Ayam"));
+
+        service.updateProduct(id, ProductRequest.builder().name("Mie Yamin").price(15000).quantity(10).build())
+                .then().statusCode(200)
+                .body("_id", equalTo(id))
+                .body("price", equalTo(15000));
+
+        service.deleteProduct(id).then().statusCode(200);
+        service.getProductById(id).then().statusCode(200).body("message", equalTo("Product not found"));
+        service.deleteProduct(id).then().statusCode(404);
+    }
+
+    @Test
+    @Description("A malformed ID is rejected like a Mongo cast error")
+    void malformedIdIsServerError() {
+        service.getProductById("not-an-id").then().statusCode(500);
+        service.getProductById("\uFF10" + "6321642a1b2c3d4e5f60718").then().statusCode(500);
+    }
+}
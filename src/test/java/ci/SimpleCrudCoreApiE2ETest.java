@@ -1,6 +1,7 @@
 package ci;
 
 import io.qameta.allure.*;
+import SimpleCRUDApps.api.Deadline;
 import SimpleCRUDApps.api.Service;
 import SimpleCRUDApps.model.ProductRequest;
 import base.BaseApiTest;
@@ -9,6 +10,8 @@ import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @Epic("Product Management")
@@ -16,6 +19,9 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class SimpleCrudCoreApiE2ETest extends BaseApiTest {
 
+    // Each step's calls get their own share of the test's deadline
+    private static final Duration STEP_BUDGET = Duration.ofSeconds(15);
+
     private static Service apiService;
     private static String createdProductId;
 
@@ -138,12 +144,12 @@ public class SimpleCrudCoreApiE2ETest extends BaseApiTest {
     void testDeleteProduct() {
         assertNotNull(createdProductId);
 
-        Allure.step("Deleted Product API",()->{
+        Deadline.step("Deleted Product API", STEP_BUDGET, () -> {
             Response deleteResponse = apiService.deleteProduct(createdProductId);
             deleteResponse.then().statusCode(200);
         });
 
-        Allure.step("Confirm Deleted Product by ID",()->{
+        Deadline.step("Confirm Deleted Product by ID", STEP_BUDGET, () -> {
             Response getResponse = apiService.getProductById(createdProductId);
             int statusCode = getResponse.getStatusCode();
             assertTrue(statusCode == 404 || statusCode == 500 || statusCode == 200,
@@ -0,0 +1,99 @@
+package experimental;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.AsyncService;
+import SimpleCRUDApps.api.Service;
+import SimpleCRUDApps.load.CrudLoadRunner;
+import SimpleCRUDApps.load.CrudRow;
+import SimpleCRUDApps.load.FixedRateMeasurement;
+import SimpleCRUDApps.load.LoadConfig;
+import SimpleCRUDApps.load.LoadReport;
+import SimpleCRUDApps.load.OpenModelReport;
+import SimpleCRUDApps.load.Scenario;
+import SimpleCRUDApps.load.ScenarioReport;
+import SimpleCRUDApps.load.ScenarioRunner;
+import SimpleCRUDApps.model.ProductId;
+import SimpleCRUDApps.model.ProductRequest;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Capacity test of the product backend, only runs when a duration is given, e.g.
+ * mvn test -Dtest=CrudLoadTest -Dload.duration=60 -Dload.concurrency=50 -Dload.rate=20
+ * The read-heavy scenario ramps up to load.concurrency users over 10% of the duration and down over the last 10%
+ * Fixed-rate latency logs are written to target/latency/ as HdrHistogram logs
+ */
+@Epic("Product Management")
+@Feature("Load")
+@Tag("Load_Test")
+@EnabledIfSystemProperty(named = "load.duration", matches = "\\d+")
+public class CrudLoadTest {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "https://simple-crud-apps.vercel.app");
+
+    @Test
+    void crudSequenceUnderLoad() {
+        LoadConfig config = LoadConfig.builder()
+                .baseUrl(BASE_URL)
+                .rows(CrudRow.fromCsv("/test-data/list_of_product.csv"))
+                .duration(Duration.ofSeconds(Long.getLong("load.duration")))
+                .concurrency(Integer.getInteger("load.concurrency", 16))
+                .targetRatePerSecond(Double.parseDouble(System.getProperty("load.rate", "0")))
+                .build();
+
+        LoadReport report = new CrudLoadRunner(config).run();
+
+        System.out.println(report.toTable());
+        Allure.addAttachment("Load Report", "text/plain", report.toTable());
+        assertTrue(report.getSequences() > 0, "No CRUD sequence was executed");
+    }
+
+    @Test
+    void readHeavyScenario() {
+        Duration total = Duration.ofSeconds(Long.getLong("load.duration"));
+        Scenario scenario = Scenario.readHeavy()
+                .thinkTime(Duration.ofMillis(100), Duration.ofMillis(500))
+                .rampUp(total.dividedBy(10), Integer.getInteger("load.concurrency", 16))
+                .steady(total.multipliedBy(8).dividedBy(10))
+                .rampDown(total.dividedBy(10))
+                .build();
+
+        ScenarioReport report = new ScenarioRunner(new Service(ApiClient.shared(BASE_URL))).run(scenario);
+
+        System.out.println(report.toTable());
+        Allure.addAttachment("Scenario Report", "text/plain", report.toTable());
+        assertTrue(report.getCalls() > 0, "No scenario operation was executed");
+    }
+
+    @Test
+    void getByIdAtFixedRate() {
+        AsyncService service = new AsyncService(BASE_URL);
+        ProductId productId = service.createProduct(ProductRequest.builder()
+                .name("Fixed Rate Probe").price(1000).quantity(1).build()).join().getProductId();
+        try {
+            double rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+            FixedRateMeasurement measurement = new FixedRateMeasurement(
+                    rate > 0 ? rate : 10,
+                    Duration.ofSeconds(Long.getLong("load.duration")),
+                    Integer.getInteger("load.concurrency", 16));
+
+            OpenModelReport report = measurement.run(() -> service.getProductById(productId).join());
+
+            report.writeHistogramLog(Path.of("target", "latency", "get-by-id.hlog"));
+            System.out.println(report.toPercentileTables());
+            Allure.addAttachment("Fixed Rate GET by ID", "text/plain", report.toPercentileTables());
+            assertTrue(report.getSent() > 0, "No request was sent");
+        } finally {
+            service.deleteProduct(productId).join();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package experimental;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.Service;
+import SimpleCRUDApps.load.ProductViewBenchmark;
+import SimpleCRUDApps.model.ProductRequest;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares JsonPath, databind and the lazy ProductView on a product response from the in-process stub,
+ * only runs when an iteration count is given, e.g.
+ * mvn test -Dtest=ProductViewBenchmarkTest -Dbenchmark.iterations=200000
+ */
+@Epic("Product Management")
+@Feature("Load")
+@Tag("Load_Test")
+@EnabledIfSystemProperty(named = "benchmark.iterations", matches = "\\d+")
+public class ProductViewBenchmarkTest {
+
+    @Test
+    void compareDecoders() {
+        try (ProductStubServer stub = ProductStubServer.builder().build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), 1)) {
+            byte[] payload = new Service(client).createProduct(ProductRequest.builder()
+                    .name("Rendang Sapi").price(45000).quantity(7).build()).asByteArray();
+            int iterations = Integer.getInteger("benchmark.iterations");
+            ProductViewBenchmark benchmark = new ProductViewBenchmark(payload,
+                    Integer.getInteger("benchmark.warmupIterations", iterations / 2), iterations);
+
+            List<ProductViewBenchmark.Result> results = benchmark.runAll();
+
+            String table = ProductViewBenchmark.toTable(results);
+            System.out.println(table);
+            Allure.addAttachment("ProductView Benchmark", "text/plain", table);
+            assertEquals(1, results.stream().mapToLong(ProductViewBenchmark.Result::sink).distinct().count(),
+                    "Decoders disagree on the product's fields");
+        }
+    }
+}
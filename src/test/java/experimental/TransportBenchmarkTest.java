@@ -0,0 +1,52 @@
+package experimental;
+
+import SimpleCRUDApps.api.ApiClient;
+import SimpleCRUDApps.api.JdkHttpTransport;
+import SimpleCRUDApps.api.RestAssuredTransport;
+import SimpleCRUDApps.load.CrudRow;
+import SimpleCRUDApps.load.TransportBenchmark;
+import SimpleCRUDApps.stub.ProductStubServer;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the RestAssured and JDK HttpClient transports on the in-process stub, only runs when a duration is given, e.g.
+ * mvn test -Dtest=TransportBenchmarkTest -Dbenchmark.duration=20 -Dbenchmark.concurrency=8
+ */
+@Epic("Product Management")
+@Feature("Load")
+@Tag("Load_Test")
+@EnabledIfSystemProperty(named = "benchmark.duration", matches = "\\d+")
+public class TransportBenchmarkTest {
+
+    @Test
+    void compareTransports() {
+        int concurrency = Integer.getInteger("benchmark.concurrency", 8);
+        try (ProductStubServer stub = ProductStubServer.builder().build().start();
+             ApiClient client = ApiClient.open(stub.getBaseUrl(), concurrency)) {
+            TransportBenchmark benchmark = new TransportBenchmark(
+                    CrudRow.fromCsv("/test-data/list_of_product.csv"),
+                    concurrency,
+                    Duration.ofSeconds(Long.getLong("benchmark.warmup", 5)),
+                    Duration.ofSeconds(Long.getLong("benchmark.duration")));
+
+            List<TransportBenchmark.Result> results = benchmark.runAll(List.of(
+                    new RestAssuredTransport(client),
+                    new JdkHttpTransport(client)));
+
+            String table = TransportBenchmark.toTable(results);
+            System.out.println(table);
+            Allure.addAttachment("Transport Benchmark", "text/plain", table);
+            results.forEach(result -> assertTrue(result.getCalls() > 0, "No call completed on " + result.transport()));
+        }
+    }
+}
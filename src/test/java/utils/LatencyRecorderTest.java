@@ -0,0 +1,56 @@
+package utils;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("API Client")
+@Feature("Latency Recording")
+public class LatencyRecorderTest {
+
+    @Test
+    @Description("Every value recorded by every thread is in the snapshot")
+    void snapshotMergesAllWriters() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    recorder.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram snapshot = recorder.snapshot();
+        assertEquals(4000, snapshot.getTotalCount());
+        assertEquals(1, snapshot.getMinValue());
+        assertTrue(snapshot.getMaxValue() >= 1000);
+    }
+
+    @Test
+    @Description("Histograms of ended threads are folded and reused instead of piling up one per thread")
+    void endedWritersAreRetired() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ThreadFactory threads = VirtualThreads.factory("recorder-test-");
+        for (int i = 0; i < 1000; i++) {
+            Thread thread = threads.newThread(() -> recorder.record(100));
+            thread.start();
+            thread.join();
+        }
+        assertEquals(1000, recorder.snapshot().getTotalCount());
+        assertTrue(recorder.writerCount() < 64, "ended writers still held: " + recorder.writerCount());
+        assertEquals(1000, recorder.snapshot().getTotalCount());
+    }
+}
@@ -1,5 +1,6 @@
 package utils;
 
+import SimpleCRUDApps.api.ApiCapture;
 import io.qameta.allure.Allure;
 import org.junit.jupiter.api.Assertions;
 import org.openqa.selenium.WebDriver;
@@ -69,6 +70,8 @@ public class ValidationUtils {
                     if(screenshotHandler != null){
                         screenshotHandler.attachScreenshotToAllure(testName);
                     }
+                    // Attach the API traffic that led to this failure (failure-only logging mode)
+                    ApiCapture.dump(testName);
                     // Don't throw exception here - we want test to continue
                 });
             } catch (Exception stepException) {